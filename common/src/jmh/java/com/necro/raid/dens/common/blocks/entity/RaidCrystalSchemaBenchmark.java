@@ -0,0 +1,215 @@
+package com.necro.raid.dens.common.blocks.entity;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves and loads a chunk's worth of raid crystals with the string-keyed schema {@link RaidCrystalSchema} replaced and
+ * with the current one. The crystal fields are copied out of {@link RaidCrystalBlockEntity}'s load and save, which
+ * cannot run without a level. The {@code bytes} counter reports the uncompressed NBT size written per operation.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh -PjmhIncludes=RaidCrystalSchemaBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RaidCrystalSchemaBenchmark {
+    private static final String[] BOSSES = {
+        "cobblemonraiddens:tier_five/charizard", "cobblemonraiddens:tier_five/garchomp",
+        "cobblemonraiddens:tier_three/eevee", "cobblemonraiddens:tier_four/lucario"
+    };
+
+    @Param({"64"})
+    public int crystals;
+
+    @Param({"0", "4"})
+    public int queuedPlayers;
+
+    private List<Crystal> state;
+    private List<CompoundTag> legacyTags;
+    private List<CompoundTag> currentTags;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42L);
+        this.state = new ArrayList<>();
+        this.legacyTags = new ArrayList<>();
+        this.currentTags = new ArrayList<>();
+        for (int i = 0; i < this.crystals; i++) {
+            Crystal crystal = new Crystal();
+            crystal.raidHost = i % 8 == 0 ? new UUID(random.nextLong(), random.nextLong()) : null;
+            for (int j = 0; j < this.queuedPlayers; j++) crystal.playerQueue.add(new UUID(random.nextLong(), random.nextLong()));
+            crystal.clears = random.nextInt(4);
+            crystal.lastReset = random.nextInt(1_000_000);
+            crystal.inactiveTicks = random.nextInt(24000);
+            crystal.uuid = new UUID(random.nextLong(), random.nextLong());
+            crystal.raidBucket = ResourceLocation.parse("cobblemonraiddens:default");
+            crystal.raidBoss = ResourceLocation.parse(BOSSES[random.nextInt(BOSSES.length)]);
+            crystal.raidStructure = ResourceLocation.parse("cobblemonraiddens:den/cave");
+            crystal.isShiny = random.nextBoolean();
+            this.state.add(crystal);
+
+            CompoundTag legacy = new CompoundTag();
+            crystal.saveLegacy(legacy);
+            this.legacyTags.add(legacy);
+            CompoundTag current = new CompoundTag();
+            crystal.save(current);
+            this.currentTags.add(current);
+        }
+    }
+
+    @Benchmark
+    public void saveLegacy(Bytes counter, Blackhole blackhole) throws IOException {
+        for (Crystal crystal : this.state) {
+            CompoundTag tag = new CompoundTag();
+            crystal.saveLegacy(tag);
+            counter.bytes += write(tag);
+            blackhole.consume(tag);
+        }
+    }
+
+    @Benchmark
+    public void saveCurrent(Bytes counter, Blackhole blackhole) throws IOException {
+        for (Crystal crystal : this.state) {
+            CompoundTag tag = new CompoundTag();
+            crystal.save(tag);
+            counter.bytes += write(tag);
+            blackhole.consume(tag);
+        }
+    }
+
+    @Benchmark
+    public void loadLegacy(Blackhole blackhole) {
+        for (CompoundTag tag : this.legacyTags) {
+            Crystal crystal = new Crystal();
+            crystal.loadLegacy(tag);
+            blackhole.consume(crystal);
+        }
+    }
+
+    @Benchmark
+    public void loadCurrent(Blackhole blackhole) {
+        for (CompoundTag tag : this.currentTags) {
+            Crystal crystal = new Crystal();
+            crystal.load(tag);
+            blackhole.consume(crystal);
+        }
+    }
+
+    @Benchmark
+    public void loadUpgraded(Blackhole blackhole) {
+        for (CompoundTag tag : this.legacyTags) {
+            Crystal crystal = new Crystal();
+            crystal.load(tag);
+            blackhole.consume(crystal);
+        }
+    }
+
+    private static int write(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        NbtIo.write(tag, new DataOutputStream(bytes));
+        return bytes.size();
+    }
+
+    private static class Crystal {
+        private UUID raidHost;
+        private final List<UUID> playerQueue = new ArrayList<>();
+        private int clears;
+        private long lastReset;
+        private int inactiveTicks;
+        private UUID uuid;
+        private ResourceLocation raidBucket;
+        private ResourceLocation raidBoss;
+        private ResourceLocation raidStructure;
+        private Boolean isShiny;
+
+        private void load(CompoundTag compoundTag) {
+            if (!RaidCrystalSchema.isCurrent(compoundTag)) compoundTag = RaidCrystalSchema.upgrade(compoundTag);
+
+            if (compoundTag.hasUUID("host")) this.raidHost = compoundTag.getUUID("host");
+            RaidCrystalSchema.readUuids(compoundTag.getIntArray("queue"), this.playerQueue);
+            this.clears = compoundTag.getInt("clears");
+            this.lastReset = compoundTag.getLong("reset");
+            this.inactiveTicks = compoundTag.getInt("inactive");
+
+            if (compoundTag.hasUUID("id")) this.uuid = compoundTag.getUUID("id");
+            else this.uuid = UUID.randomUUID();
+            this.raidBucket = RaidCrystalSchema.getId(compoundTag, "bucket");
+            this.raidBoss = RaidCrystalSchema.getId(compoundTag, "boss");
+            this.raidStructure = RaidCrystalSchema.getId(compoundTag, "structure");
+            if (compoundTag.contains("shiny")) this.isShiny = compoundTag.getBoolean("shiny");
+        }
+
+        private void save(CompoundTag compoundTag) {
+            compoundTag.putInt("v", RaidCrystalSchema.VERSION);
+            if (this.raidHost != null) compoundTag.putUUID("host", this.raidHost);
+            if (!this.playerQueue.isEmpty()) compoundTag.put("queue", RaidCrystalSchema.writeUuids(this.playerQueue));
+
+            compoundTag.putInt("clears", this.clears);
+            compoundTag.putLong("reset", this.lastReset);
+            compoundTag.putInt("inactive", this.inactiveTicks);
+
+            if (this.uuid != null) compoundTag.putUUID("id", this.uuid);
+            RaidCrystalSchema.putId(compoundTag, "bucket", this.raidBucket);
+            RaidCrystalSchema.putId(compoundTag, "boss", this.raidBoss);
+            RaidCrystalSchema.putId(compoundTag, "structure", this.raidStructure);
+            if (this.isShiny != null) compoundTag.putBoolean("shiny", this.isShiny);
+        }
+
+        private void loadLegacy(CompoundTag compoundTag) {
+            if (compoundTag.contains("raid_host_uuid")) this.raidHost = UUID.fromString(compoundTag.getString("raid_host_uuid"));
+            if (compoundTag.contains("raid_player_queue")) {
+                compoundTag.getList("raid_player_queue", Tag.TAG_STRING).forEach(tag -> this.playerQueue.add(UUID.fromString(tag.getAsString())));
+            }
+            this.clears = compoundTag.getInt("raid_cleared");
+            this.lastReset = compoundTag.getLong("last_reset");
+            this.inactiveTicks = compoundTag.getInt("raid_inactive_for");
+
+            if (compoundTag.contains("uuid")) this.uuid = UUID.fromString(compoundTag.getString("uuid"));
+            else this.uuid = UUID.randomUUID();
+            if (compoundTag.contains("raid_bucket")) this.raidBucket = ResourceLocation.parse(compoundTag.getString("raid_bucket"));
+            if (compoundTag.contains("raid_boss")) this.raidBoss = ResourceLocation.parse(compoundTag.getString("raid_boss"));
+            if (compoundTag.contains("raid_structure")) this.raidStructure = ResourceLocation.parse(compoundTag.getString("raid_structure"));
+            if (compoundTag.contains("is_shiny")) this.isShiny = compoundTag.getBoolean("is_shiny");
+        }
+
+        private void saveLegacy(CompoundTag compoundTag) {
+            if (this.raidHost != null) compoundTag.putString("raid_host_uuid", this.raidHost.toString());
+
+            ListTag playerQueueTag = new ListTag();
+            this.playerQueue.forEach(uuid -> playerQueueTag.add(StringTag.valueOf(uuid.toString())));
+            compoundTag.put("raid_player_queue", playerQueueTag);
+
+            compoundTag.putInt("raid_cleared", this.clears);
+            compoundTag.putLong("last_reset", this.lastReset);
+            compoundTag.putInt("raid_inactive_for", this.inactiveTicks);
+
+            if (this.uuid != null) compoundTag.putString("uuid", this.uuid.toString());
+            if (this.raidBucket != null) compoundTag.putString("raid_bucket", this.raidBucket.toString());
+            if (this.raidBoss != null) compoundTag.putString("raid_boss", this.raidBoss.toString());
+            if (this.raidStructure != null) compoundTag.putString("raid_structure", this.raidStructure.toString());
+            if (this.isShiny != null) compoundTag.putBoolean("is_shiny", this.isShiny);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.necro.raid.dens.common.loot;
+
+import com.necro.raid.dens.common.raids.RaidType;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-roll gem lookup {@link LootItemPrototypes} replaced (a switch calling
+ * {@code getDefaultInstance()}) against copying a prototype out of an {@link EnumMap}.
+ * <p>
+ * Cobblemon's items cannot be constructed once the vanilla registries are frozen outside a running
+ * game, so vanilla dyes stand in for the gems; both paths build the same {@link ItemStack} shape.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh -PjmhIncludes=LootItemPrototypesBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class LootItemPrototypesBenchmark {
+    private Map<RaidType, ItemStack> prototypes;
+    private RaidType[] rolls;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        this.prototypes = new EnumMap<>(RaidType.class);
+        for (RaidType type : RaidType.values()) {
+            if (type == RaidType.NONE || type == RaidType.STELLAR) continue;
+            this.prototypes.put(type, switchItem(type).getDefaultInstance());
+        }
+
+        RandomSource random = RandomSource.create(42L);
+        this.rolls = new RaidType[1024];
+        for (int i = 0; i < this.rolls.length; i++) {
+            this.rolls[i] = RaidType.values()[random.nextInt(1, 19)];
+        }
+    }
+
+    @Benchmark
+    public ItemStack defaultInstance() {
+        return switchItem(this.nextRoll()).getDefaultInstance();
+    }
+
+    @Benchmark
+    public ItemStack prototypeCopy() {
+        return this.prototypes.get(this.nextRoll()).copy();
+    }
+
+    private RaidType nextRoll() {
+        RaidType type = this.rolls[this.next];
+        this.next = (this.next + 1) & (this.rolls.length - 1);
+        return type;
+    }
+
+    private static Item switchItem(RaidType raidType) {
+        return switch (raidType) {
+            case FIGHTING -> Items.BROWN_DYE;
+            case FLYING -> Items.LIGHT_GRAY_DYE;
+            case POISON -> Items.PURPLE_DYE;
+            case GROUND -> Items.ORANGE_DYE;
+            case ROCK -> Items.GRAY_DYE;
+            case BUG -> Items.LIME_DYE;
+            case GHOST -> Items.MAGENTA_DYE;
+            case STEEL -> Items.IRON_INGOT;
+            case FIRE -> Items.RED_DYE;
+            case WATER -> Items.BLUE_DYE;
+            case GRASS -> Items.GREEN_DYE;
+            case ELECTRIC -> Items.YELLOW_DYE;
+            case PSYCHIC -> Items.PINK_DYE;
+            case ICE -> Items.LIGHT_BLUE_DYE;
+            case DRAGON -> Items.CYAN_DYE;
+            case DARK -> Items.BLACK_DYE;
+            case FAIRY -> Items.GOLD_INGOT;
+            default -> Items.WHITE_DYE;
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.necro.raid.dens.common.network.packets;
+
+import com.necro.raid.dens.common.network.RaidMulticast;
+import com.necro.raid.dens.common.raids.RaidLog;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes one tick of raid log moves in the old format (a packet of two UTF keys per move) and through
+ * {@link RaidLog} into a string-table {@link RaidLogPacket}. The {@code bytes} counter reports the encoded size per
+ * tick, which is what every member of the raid receives. Only payload bytes are counted; the old format also paid the
+ * packet header and channel id once per move rather than once per tick.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh -PjmhIncludes=RaidLogPacketBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RaidLogPacketBenchmark {
+    private static final String[] POKEMON = {
+        "cobblemon.species.charizard.name", "cobblemon.species.garchomp.name", "cobblemon.species.gardevoir.name",
+        "cobblemon.species.rillaboom.name", "cobblemon.species.tyranitar.name"
+    };
+    private static final String[] MOVES = {
+        "cobblemon.move.flamethrower", "cobblemon.move.earthquake", "cobblemon.move.moonblast",
+        "cobblemon.move.woodhammer", "cobblemon.move.stoneedge", "cobblemon.move.protect",
+        "cobblemon.move.dragonclaw", "cobblemon.move.psychic"
+    };
+
+    @Param({"4"})
+    public int movesPerTick;
+
+    private final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(1024));
+    private final CapturingGroup group = new CapturingGroup();
+    private RaidLog log;
+    private int turn;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.log = new RaidLog();
+        this.turn = 0;
+    }
+
+    @Benchmark
+    public int perMovePackets(Bytes counter) {
+        int written = 0;
+        for (int i = 0; i < this.movesPerTick; i++) {
+            this.buf.clear();
+            this.buf.writeUtf(POKEMON[(this.turn + i) % POKEMON.length]);
+            this.buf.writeUtf(MOVES[(this.turn * 3 + i) % MOVES.length]);
+            written += this.buf.readableBytes();
+        }
+        this.turn++;
+        counter.bytes += written;
+        return written;
+    }
+
+    @Benchmark
+    public int stringTablePacket(Bytes counter) {
+        for (int i = 0; i < this.movesPerTick; i++) {
+            this.log.add(POKEMON[(this.turn + i) % POKEMON.length], MOVES[(this.turn * 3 + i) % MOVES.length]);
+        }
+        this.log.flush(this.group);
+        this.buf.clear();
+        this.group.last.write(this.buf);
+        this.turn++;
+        int written = this.buf.readableBytes();
+        counter.bytes += written;
+        return written;
+    }
+
+    private static class CapturingGroup extends RaidMulticast {
+        private RaidLogPacket last;
+
+        @Override
+        public void send(CustomPacketPayload payload) {
+            this.last = (RaidLogPacket) payload;
+        }
+    }
+}
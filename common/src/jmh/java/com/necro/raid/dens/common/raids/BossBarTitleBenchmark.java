@@ -0,0 +1,60 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.util.RaidTimeFormat;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.world.BossEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates a raid boss bar title the way {@link SharedHealthRaid} did before {@link BossBarTitle} (building a new
+ * component and calling {@code setName} every time) and through {@link BossBarTitle}. {@code updatesPerSecond} is how
+ * often the title is refreshed per timer second: 1 is the raid timer, higher values show what repeated refreshes with
+ * unchanged suffixes cost. Add {@code -PjmhProfilers=gc} to compare allocations.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh -PjmhIncludes=BossBarTitleBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BossBarTitleBenchmark {
+    @Param({"1", "20"})
+    public int updatesPerSecond;
+
+    private final Component bossName = Component.literal("Charizard");
+    private final Component modeSuffix = Component.literal(" - HP: 1200/1200");
+    private ServerBossEvent bossEvent;
+    private BossBarTitle title;
+    private int update;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.bossEvent = new ServerBossEvent(this.bossName, BossEvent.BossBarColor.WHITE, BossEvent.BossBarOverlay.PROGRESS);
+        this.title = new BossBarTitle(this.bossName);
+        this.update = 0;
+    }
+
+    @Benchmark
+    public Component rebuild() {
+        MutableComponent name = Component.empty()
+            .append(this.bossName)
+            .append(RaidTimeFormat.getSuffix(this.nextSecond()));
+        name.append(this.modeSuffix);
+        this.bossEvent.setName(name.withStyle(ChatFormatting.BOLD));
+        return this.bossEvent.getName();
+    }
+
+    @Benchmark
+    public Component cached() {
+        this.title.update(this.bossEvent, RaidTimeFormat.getSuffix(this.nextSecond()), this.modeSuffix);
+        return this.bossEvent.getName();
+    }
+
+    private int nextSecond() {
+        return 600 - (this.update++ / this.updatesPerSecond) % 600;
+    }
+}
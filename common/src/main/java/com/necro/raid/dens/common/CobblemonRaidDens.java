@@ -71,7 +71,7 @@ public class CobblemonRaidDens {
         CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.NORMAL, event -> {
             BattlePokemon battlePokemon = event.getLosers().getFirst().getActivePokemon().getFirst().getBattlePokemon();
             if (battlePokemon != null && battlePokemon.getEffectedPokemon().getOwnerPlayer() != null) {
-                // Player lost - in coop mode, no penalty (handled by RaidInstance.removePlayer)
+                // Player lost - in coop mode, no penalty (handled by RaidInstance.leaveBattle)
                 raidFailEvent(event.getBattle());
                 return Unit.INSTANCE;
             }
@@ -101,8 +101,7 @@ public class CobblemonRaidDens {
                 RaidInstance raidInstance = RaidHelper.ACTIVE_RAIDS.get(battleId);
                 ServerPlayer player = battle.getPlayers().getFirst();
                 // Apply partial damage for the HP they managed to deal before fleeing/losing
-                raidInstance.applyPartialDamage(player);
-                raidInstance.removePlayer(battle);
+                raidInstance.leaveBattle(player, battle, true);
             }
         }
         catch (NullPointerException ignored) {}
@@ -60,7 +60,8 @@ public abstract class RaidCrystalBlock extends BaseEntityBlock {
     protected @NotNull InteractionResult useWithoutItem(@NotNull BlockState blockState, Level level, @NotNull BlockPos blockPos, @NotNull Player player, @NotNull BlockHitResult blockHitResult) {
         if (level.isClientSide()) return InteractionResult.SUCCESS;
         if (!(level.getBlockEntity(blockPos) instanceof RaidCrystalBlockEntity raidCrystal)) return InteractionResult.FAIL;
-        boolean success = this.startOrJoinRaid(player, blockState, raidCrystal, null);
+        raidCrystal.wake();
+        boolean success = this.startOrJoinRaid(player, raidCrystal.getBlockState(), raidCrystal, null);
         return success ? InteractionResult.SUCCESS : InteractionResult.FAIL;
     }
 
@@ -70,6 +71,8 @@ public abstract class RaidCrystalBlock extends BaseEntityBlock {
 
         BlockEntity blockEntity = level.getBlockEntity(blockPos);
         if (!(blockEntity instanceof RaidCrystalBlockEntity raidCrystal)) return ItemInteractionResult.FAIL;
+        raidCrystal.wake();
+        blockState = raidCrystal.getBlockState();
         if (raidCrystal.getRaidBoss() == null) return ItemInteractionResult.FAIL;
         else if (raidCrystal.hasDimension() && raidCrystal.isPlayerParticipating(player)) return ItemInteractionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
 
@@ -98,6 +101,10 @@ public abstract class RaidCrystalBlock extends BaseEntityBlock {
             blockEntity.syncAspects((ServerPlayer) player);
             return true;
         }
+        else if (RaidAdmission.isQueued(player)) {
+            player.sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable("message.cobblemonraiddens.raid.queue_position", RaidAdmission.getPosition(player))));
+            return false;
+        }
         else if (RaidHelper.isAlreadyHosting(player)) {
             player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.raid.already_hosting"));
             return false;
@@ -106,8 +113,18 @@ public abstract class RaidCrystalBlock extends BaseEntityBlock {
             player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.raid.already_participating"));
             return false;
         }
+        else if (RaidAdmission.isQueued(blockEntity)) {
+            player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.raid.den_queued"));
+            return false;
+        }
         else if (blockEntity.canSetRaidHost()) {
-            boolean success = this.startRaid(player, blockEntity);
+            RaidTier tier = blockState.getValue(RAID_TIER);
+            if (RaidAdmission.shouldQueue(player.getServer(), tier)) {
+                int position = RaidAdmission.enqueue((ServerPlayer) player, blockEntity, tier, key, () -> this.startRaid(player, blockEntity));
+                player.sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable("message.cobblemonraiddens.raid.start_queued", position)));
+                return true;
+            }
+            boolean success = RaidAdmission.start(blockEntity, tier, () -> this.startRaid(player, blockEntity));
             if (!success) blockEntity.clearRaidHost();
             return success;
         }
@@ -210,6 +227,7 @@ public abstract class RaidCrystalBlock extends BaseEntityBlock {
             blockEntity.closeRaid(blockPos);
             RaidHelper.resetClearedRaids(blockEntity.getUuid());
         }
+        if (!level.isClientSide() && !blockState.is(blockState2.getBlock())) DenIndex.remove(level.dimension(), blockPos);
         super.onRemove(blockState, level, blockPos, blockState2, bl);
     }
 
@@ -14,9 +14,6 @@ import com.necro.raid.dens.common.util.*;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.StringTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
@@ -43,16 +40,15 @@ import software.bernie.geckolib.animation.AnimatableManager;
 import software.bernie.geckolib.util.GeckoLibUtil;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoBlockEntity {
+    private static final int RAID_CHECK_INTERVAL = 10;
+
     private UUID raidHost;
     private final Set<UUID> playerQueue;
     private int clears;
     private int inactiveTicks;
-    private int soundTicks;
 
     private UUID uuid;
     private ResourceLocation raidBucket;
@@ -71,12 +67,15 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
     private Boolean isShiny;
     private Consumer<ServerPlayer> aspectSync;
 
+    private RaidScheduler.Task resetTask;
+    private RaidScheduler.Task soundTask;
+    private RaidScheduler.Task raidTask;
+
     private final AnimatableInstanceCache cache = GeckoLibUtil.createInstanceCache(this);
 
     public RaidCrystalBlockEntity(BlockEntityType<? extends RaidCrystalBlockEntity> blockEntityType, BlockPos blockPos, BlockState blockState) {
         super(blockEntityType, blockPos, blockState);
         this.playerQueue = new HashSet<>();
-        this.soundTicks = 0;
         this.uuid = UUID.randomUUID();
         this.queueFindDimension = false;
         this.queueTimeout = 0;
@@ -84,16 +83,101 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         this.isOpen = false;
     }
 
-    public void tick(Level level, BlockPos blockPos, BlockState blockState) {
-        if (this.queueFindDimension && this.raidHost != null && level.getServer() != null) {
+    /**
+     * Brings the crystal up to date: generates a missing boss, rerolls the boss if the reset time has passed since the
+     * last reset, and schedules whatever timed work the crystal still needs. Crystals do not tick; this runs when the
+     * crystal loads, when a player interacts with it, and when a scheduled deadline comes up.
+     */
+    public void wake() {
+        if (this.isRemoved() || !(this.getLevel() instanceof ServerLevel level)) return;
+        BlockPos blockPos = this.getBlockPos();
+        if (!(this.getBlockState().getBlock() instanceof RaidCrystalBlock)) return;
+
+        int pending = DenIndex.takePending(level.dimension(), blockPos);
+        if (pending != 0) {
+            pending = DenAdminJobs.apply(this, pending);
+            if (pending != 0) DenIndex.addPending(level.dimension(), blockPos, pending);
+        }
+
+        BlockState blockState = this.getBlockState();
+
+        if (this.canGenerateBoss(blockState) && (this.raidBoss == null || !RaidRegistry.exists(this.raidBoss))) {
+            this.generateRaidBoss(level, blockPos, blockState);
+            blockState = this.getBlockState();
+        }
+
+        if (this.canReset(blockState) && !this.isInProgress()) {
+            long gameTime = level.getGameTime();
+            if (this.lastReset == 0) this.lastReset = gameTime;
+            else if (gameTime - this.lastReset > CobblemonRaidDens.CONFIG.reset_time * 20L) {
+                this.playerQueue.clear();
+                this.generateRaidBoss(level, blockPos, blockState);
+                blockState = this.getBlockState();
+            }
+        }
+        this.scheduleTasks(blockState);
+    }
+
+    private boolean canReset(BlockState blockState) {
+        return blockState.getValue(RaidCrystalBlock.CAN_RESET) && CobblemonRaidDens.CONFIG.reset_time > 0;
+    }
+
+    private void scheduleTasks(BlockState blockState) {
+        if (this.resetTask != null) this.resetTask.cancel();
+        this.resetTask = null;
+        if (this.canReset(blockState) && !this.isInProgress() && this.getLevel() != null) {
+            long delay = CobblemonRaidDens.CONFIG.reset_time * 20L - (this.getLevel().getGameTime() - this.lastReset) + 1;
+            // Still overdue means no boss could be rolled, so try again later rather than every tick
+            if (delay <= 0) delay = 200;
+            this.resetTask = RaidScheduler.schedule((int) Math.min(delay, Integer.MAX_VALUE), this::wake);
+        }
+
+        if (!this.isActive(blockState)) this.cancelSound();
+        else if (this.soundTask == null) this.soundTask = RaidScheduler.scheduleRepeating(120, this::playChime);
+
+        if (this.raidHost != null || this.queueClose || this.queueFindDimension) this.scheduleRaidTask();
+    }
+
+    private void playChime() {
+        if (this.isRemoved() || this.getLevel() == null || !this.isActive(this.getBlockState())) {
+            this.cancelSound();
+            return;
+        }
+        this.getLevel().playSound(null, this.getBlockPos(), SoundEvents.AMETHYST_BLOCK_CHIME, SoundSource.BLOCKS, 0.5f, 1.0f);
+    }
+
+    private void cancelSound() {
+        if (this.soundTask != null) this.soundTask.cancel();
+        this.soundTask = null;
+    }
+
+    private void scheduleRaidTask() {
+        if (this.raidTask == null && this.getLevel() instanceof ServerLevel) {
+            this.raidTask = RaidScheduler.scheduleRepeating(RAID_CHECK_INTERVAL, this::tickRaid);
+        }
+    }
+
+    /**
+     * Looks after a raid opened from this crystal: finds its dimension after a reload, closes it once everyone has
+     * left, and closes it when the dimension has been empty for too long. Stops once the raid is closed.
+     */
+    private void tickRaid() {
+        if (this.isRemoved() || this.getLevel() == null || this.getLevel().getServer() == null) {
+            this.cancelRaidTask();
+            return;
+        }
+        Level level = this.getLevel();
+        BlockPos blockPos = this.getBlockPos();
+        BlockState blockState = this.getBlockState();
+
+        if (this.queueFindDimension && this.raidHost != null) {
             ResourceKey<Level> key = ModDimensions.createLevelKey(this.raidHost.toString());
-            if (level.getServer().getLevel(key) != null) {
+            boolean rolledBack = RaidCheckpoints.isRolledBack(this.raidHost);
+            if (!rolledBack && level.getServer().getLevel(key) != null) {
                 this.setDimension(level.getServer().getLevel(key));
                 this.queueFindDimension = false;
             }
-            else this.queueTimeout++;
-
-            if (this.queueTimeout > 200) {
+            else if (rolledBack || (this.queueTimeout += RAID_CHECK_INTERVAL) > 200) {
                 RaidHelper.removeHost(this.raidHost);
                 RaidHelper.finishRaid(this.playerQueue);
                 this.raidHost = null;
@@ -107,33 +191,21 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
             this.queueClose = false;
         }
 
-        if (level.isClientSide()) return;
-
-        if (this.canGenerateBoss(blockState) && (this.raidBoss == null || !RaidRegistry.exists(this.raidBoss))) {
-            this.generateRaidBoss(level, blockPos, blockState);
-        }
-
         if (this.raidHost != null && this.hasDimension() && this.getDimension().players().isEmpty()) {
-            if (++this.inactiveTicks > 2400) this.closeRaid(blockPos);
+            this.inactiveTicks += RAID_CHECK_INTERVAL;
+            if (this.inactiveTicks > 2400) this.closeRaid(blockPos);
         }
         else this.inactiveTicks = 0;
 
-        if (!blockState.getValue(RaidCrystalBlock.CAN_RESET)) return;
-        else if (CobblemonRaidDens.CONFIG.reset_time <= 0) return;
-        else if (this.isInProgress()) return;
-
-        long gameTime = level.getGameTime();
-        if (this.lastReset == 0) this.lastReset = gameTime;
-        else if (gameTime - this.lastReset > CobblemonRaidDens.CONFIG.reset_time * 20L) {
-            this.playerQueue.clear();
-            this.generateRaidBoss(level, blockPos, blockState);
+        if (this.raidHost == null && !this.queueClose && !this.queueFindDimension) {
+            this.cancelRaidTask();
+            this.wake();
         }
+    }
 
-        if (!this.isActive(blockState)) return;
-        if (++this.soundTicks % 120 == 0) {
-            level.playSound(null, blockPos, SoundEvents.AMETHYST_BLOCK_CHIME, SoundSource.BLOCKS, 0.5f, 1.0f);
-            this.soundTicks = 0;
-        }
+    private void cancelRaidTask() {
+        if (this.raidTask != null) this.raidTask.cancel();
+        this.raidTask = null;
     }
 
     public void generateRaidBoss(Level level, BlockPos blockPos, BlockState blockState) {
@@ -211,12 +283,22 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         this.clears++;
         this.isShiny = null;
         if (this.isAtMaxClears()) RaidHelper.resetClearedRaids(this.getUuid());
-        else RaidHelper.clearRaid(this.getUuid(), this.playerQueue);
+        else RaidHelper.clearRaid(this.getUuid(), this.playerQueue, this.getDenLocation());
         this.setQueueClose();
     }
 
+    private ClearedRaidShard.DenLocation getDenLocation() {
+        if (this.getLevel() == null) return null;
+        return new ClearedRaidShard.DenLocation(
+            this.getLevel().dimension().location(), this.getBlockPos().asLong(),
+            this.lastReset, this.getBlockState().getValue(RaidCrystalBlock.CAN_RESET)
+        );
+    }
+
     public void closeRaid(BlockPos blockPos) {
         this.removeChunkTicket();
+        RaidAdmission.release(this.getUuid());
+        RaidCheckpoints.close(this.raidHost);
 
         RaidHelper.removeHost(this.raidHost);
         RaidHelper.finishRaid(this.playerQueue);
@@ -299,6 +381,7 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         this.raidHost = player.getUUID();
         this.playerQueue.add(player.getUUID());
         this.setChanged();
+        this.scheduleRaidTask();
     }
 
     public void clearRaidHost() {
@@ -339,7 +422,11 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         if (this.getLevel() == null) return 0;
         else if (!this.getBlockState().getValue(RaidCrystalBlock.CAN_RESET)) return 0;
         else if (CobblemonRaidDens.CONFIG.reset_time <= 0) return 0;
-        return CobblemonRaidDens.CONFIG.reset_time * 20L - (this.getLevel().getGameTime() - this.lastReset);
+        return Math.max(0, CobblemonRaidDens.CONFIG.reset_time * 20L - (this.getLevel().getGameTime() - this.lastReset));
+    }
+
+    public long getLastReset() {
+        return this.lastReset;
     }
 
     public boolean isOpen() {
@@ -377,6 +464,25 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         this.clears = 0;
     }
 
+    /**
+     * Wipes every clear of this den and reactivates it, as the reset clears command does.
+     */
+    public void resetAllClears() {
+        RaidHelper.resetClearedRaids(this.getUuid());
+        this.resetClears();
+        this.setChanged();
+        BlockState blockState = this.getBlockState();
+        if (this.getLevel() != null && !blockState.getValue(RaidCrystalBlock.ACTIVE)) {
+            this.getLevel().setBlock(this.getBlockPos(), blockState.setValue(RaidCrystalBlock.ACTIVE, true), 2);
+        }
+    }
+
+    public void reroll() {
+        if (this.getLevel() == null) return;
+        this.playerQueue.clear();
+        this.generateRaidBoss(this.getLevel(), this.getBlockPos(), this.getBlockState());
+    }
+
     public boolean isAtMaxClears() {
         RaidBoss boss = this.getRaidBoss();
         if (boss == null) return true;
@@ -413,6 +519,7 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
 
     public void setQueueClose() {
         this.queueClose = true;
+        this.scheduleRaidTask();
     }
 
     public void setRaidBucket(ResourceLocation bucket) {
@@ -421,7 +528,7 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
 
     public void syncAspects(ServerPlayer player) {
         if (this.aspectSync == null) return;
-        CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS).execute(() -> this.aspectSync.accept(player));
+        RaidScheduler.schedule(20, () -> this.aspectSync.accept(player));
     }
 
     public void setAspectSync(Consumer<ServerPlayer> sync) {
@@ -430,50 +537,62 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
 
     @Override
     protected void loadAdditional(CompoundTag compoundTag, HolderLookup.@NotNull Provider provider) {
-        if (compoundTag.contains("raid_host_uuid")) {
-            this.raidHost = UUID.fromString(compoundTag.getString("raid_host_uuid"));
+        if (!RaidCrystalSchema.isCurrent(compoundTag)) compoundTag = RaidCrystalSchema.upgrade(compoundTag);
+
+        if (compoundTag.hasUUID("host")) {
+            this.raidHost = compoundTag.getUUID("host");
             this.queueFindDimension = true;
         }
-        if (compoundTag.contains("raid_player_queue")) {
-            compoundTag.getList("raid_player_queue", Tag.TAG_STRING).forEach(tag -> this.playerQueue.add(UUID.fromString(tag.getAsString())));
-        }
-        this.clears = compoundTag.getInt("raid_cleared");
-        this.lastReset = compoundTag.getLong("last_reset");
-        this.inactiveTicks = compoundTag.getInt("raid_inactive_for");
+        RaidCrystalSchema.readUuids(compoundTag.getIntArray("queue"), this.playerQueue);
+        this.clears = compoundTag.getInt("clears");
+        this.lastReset = compoundTag.getLong("reset");
+        this.inactiveTicks = compoundTag.getInt("inactive");
 
-        if (compoundTag.contains("uuid")) this.uuid = UUID.fromString(compoundTag.getString("uuid"));
+        if (compoundTag.hasUUID("id")) this.uuid = compoundTag.getUUID("id");
         else this.uuid = UUID.randomUUID();
-        if (compoundTag.contains("raid_bucket")) this.raidBucket = ResourceLocation.parse(compoundTag.getString("raid_bucket"));
-        if (compoundTag.contains("raid_boss")) this.raidBoss = ResourceLocation.parse(compoundTag.getString("raid_boss"));
-        if (compoundTag.contains("raid_structure")) this.raidStructure = ResourceLocation.parse(compoundTag.getString("raid_structure"));
-        else this.raidStructure = RaidDenRegistry.DEFAULT;
-        if (compoundTag.contains("is_open")) this.isOpen = true;
-        if (compoundTag.contains("is_shiny")) this.isShiny = compoundTag.getBoolean("is_shiny");
+        this.raidBucket = RaidCrystalSchema.getId(compoundTag, "bucket");
+        this.raidBoss = RaidCrystalSchema.getId(compoundTag, "boss");
+        this.raidStructure = RaidCrystalSchema.getId(compoundTag, "structure");
+        if (this.raidStructure == null) this.raidStructure = RaidDenRegistry.DEFAULT;
+        if (compoundTag.contains("open")) this.isOpen = true;
+        if (compoundTag.contains("shiny")) this.isShiny = compoundTag.getBoolean("shiny");
     }
 
     @Override
     protected void saveAdditional(@NotNull CompoundTag compoundTag, HolderLookup.@NotNull Provider provider) {
-        if (this.raidHost != null) compoundTag.putString("raid_host_uuid", this.raidHost.toString());
-        else if (this.getDimension() != null) compoundTag.putString("raid_host_uuid", this.dimensionKey.location().getPath());
-
-        ListTag playerQueueTag = new ListTag();
-        this.playerQueue.forEach(uuid -> playerQueueTag.add(StringTag.valueOf(uuid.toString())));
-        compoundTag.put("raid_player_queue", playerQueueTag);
+        compoundTag.putInt("v", RaidCrystalSchema.VERSION);
+        if (this.raidHost != null) compoundTag.putUUID("host", this.raidHost);
+        else if (this.getDimension() != null) {
+            // The raid dimension is named after its host
+            try {
+                compoundTag.putUUID("host", UUID.fromString(this.dimensionKey.location().getPath()));
+            }
+            catch (IllegalArgumentException ignored) {}
+        }
+        if (!this.playerQueue.isEmpty()) compoundTag.put("queue", RaidCrystalSchema.writeUuids(this.playerQueue));
 
-        compoundTag.putInt("raid_cleared", this.clears);
-        compoundTag.putLong("last_reset", this.lastReset);
-        compoundTag.putInt("raid_inactive_for", this.inactiveTicks);
+        compoundTag.putInt("clears", this.clears);
+        compoundTag.putLong("reset", this.lastReset);
+        compoundTag.putInt("inactive", this.inactiveTicks);
 
-        if (this.uuid != null) compoundTag.putString("uuid", this.uuid.toString());
-        if (this.raidBucket != null) compoundTag.putString("raid_bucket", this.raidBucket.toString());
-        if (this.raidBoss != null) compoundTag.putString("raid_boss", this.raidBoss.toString());
-        if (this.raidStructure != null) compoundTag.putString("raid_structure", this.raidStructure.toString());
-        if (this.isOpen) compoundTag.putBoolean("is_open", true);
-        if (this.isShiny != null) compoundTag.putBoolean("is_shiny", this.isShiny);
+        if (this.uuid != null) compoundTag.putUUID("id", this.uuid);
+        RaidCrystalSchema.putId(compoundTag, "bucket", this.raidBucket);
+        RaidCrystalSchema.putId(compoundTag, "boss", this.raidBoss);
+        RaidCrystalSchema.putId(compoundTag, "structure", this.raidStructure);
+        if (this.isOpen) compoundTag.putBoolean("open", true);
+        if (this.isShiny != null) compoundTag.putBoolean("shiny", this.isShiny);
     }
 
     public void setRaidBoss(ResourceLocation raidBoss, RandomSource random, long gameTime) {
         RaidHelper.resetClearedRaids(this.getUuid());
+        this.setGeneratedRaidBoss(raidBoss, random, gameTime);
+    }
+
+    /**
+     * Sets the boss of a crystal placed by world generation. Its den is new and cannot have clears to reset, and the
+     * cleared raid records must not be touched off the server thread.
+     */
+    public void setGeneratedRaidBoss(ResourceLocation raidBoss, RandomSource random, long gameTime) {
         this.resetClears();
         this.inactiveTicks = 0;
         this.lastReset = gameTime;
@@ -488,10 +607,45 @@ public abstract class RaidCrystalBlockEntity extends BlockEntity implements GeoB
         this.raidStructure = structure;
     }
 
+    @Override
+    public void clearRemoved() {
+        super.clearRemoved();
+        this.updateIndex();
+        // Blocks cannot be changed while the chunk is still loading
+        if (this.getLevel() instanceof ServerLevel) RaidScheduler.schedule(1, this::wake);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (this.resetTask != null) this.resetTask.cancel();
+        this.resetTask = null;
+        this.cancelSound();
+        this.cancelRaidTask();
+    }
+
+    @Override
+    public void setChanged() {
+        super.setChanged();
+        this.updateIndex();
+    }
+
+    @Override
+    public void setBlockState(@NotNull BlockState blockState) {
+        super.setBlockState(blockState);
+        this.updateIndex();
+    }
+
+    private void updateIndex() {
+        if (!(this.getLevel() instanceof ServerLevel level) || RaidUtils.isCustomDimension(level)) return;
+        DenIndex.update(level.dimension(), DenIndex.DenEntry.of(this, this.getBlockState()));
+    }
+
     @Override
     public @NotNull CompoundTag getUpdateTag(HolderLookup.@NotNull Provider provider) {
         CompoundTag tag = super.getUpdateTag(provider);
-        if (this.raidBoss != null) tag.putString("raid_boss", this.raidBoss.toString());
+        tag.putInt("v", RaidCrystalSchema.VERSION);
+        RaidCrystalSchema.putId(tag, "boss", this.raidBoss);
         return tag;
     }
 
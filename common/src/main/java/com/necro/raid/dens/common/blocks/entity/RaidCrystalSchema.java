@@ -0,0 +1,126 @@
+package com.necro.raid.dens.common.blocks.entity;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The saved form of a raid crystal. Version 2 stores UUIDs as int arrays, with the player queue packed into a single
+ * array, and uses short keys. Ids are kept as strings because raid bosses and dens come from datapacks and have no
+ * stable numeric ids, but parsed ids are shared, so the thousands of crystals pointing at the same few bosses only
+ * parse each id once.
+ * <p>
+ * Crystals saved before versioning, and structure templates that still carry the old keys, are upgraded on load.
+ */
+public class RaidCrystalSchema {
+    public static final int VERSION = 2;
+    private static final int MAX_CACHED_IDS = 4096;
+    private static final Map<String, ResourceLocation> IDS = new ConcurrentHashMap<>();
+
+    public static boolean isCurrent(CompoundTag compoundTag) {
+        return compoundTag.getInt("v") == VERSION;
+    }
+
+    /**
+     * Rewrites a crystal saved with the string-keyed schema into the current one.
+     */
+    public static CompoundTag upgrade(CompoundTag legacy) {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("v", VERSION);
+
+        UUID host = parseUuid(legacy.getString("raid_host_uuid"));
+        if (host != null) tag.putUUID("host", host);
+        if (legacy.contains("raid_player_queue")) {
+            ListTag players = legacy.getList("raid_player_queue", Tag.TAG_STRING);
+            int[] queue = new int[players.size() * 4];
+            int i = 0;
+            for (Tag t : players) {
+                UUID player = parseUuid(t.getAsString());
+                if (player == null) continue;
+                writeUuid(queue, i, player);
+                i += 4;
+            }
+            tag.putIntArray("queue", i == queue.length ? queue : Arrays.copyOf(queue, i));
+        }
+
+        tag.putInt("clears", legacy.getInt("raid_cleared"));
+        tag.putLong("reset", legacy.getLong("last_reset"));
+        tag.putInt("inactive", legacy.getInt("raid_inactive_for"));
+
+        UUID uuid = parseUuid(legacy.getString("uuid"));
+        if (uuid != null) tag.putUUID("id", uuid);
+        if (legacy.contains("raid_bucket")) tag.putString("bucket", legacy.getString("raid_bucket"));
+        if (legacy.contains("raid_boss")) tag.putString("boss", legacy.getString("raid_boss"));
+        if (legacy.contains("raid_structure")) tag.putString("structure", legacy.getString("raid_structure"));
+        if (legacy.contains("is_open")) tag.putBoolean("open", true);
+        if (legacy.contains("is_shiny")) tag.putBoolean("shiny", legacy.getBoolean("is_shiny"));
+        return tag;
+    }
+
+    public static IntArrayTag writeUuids(Collection<UUID> uuids) {
+        int[] values = new int[uuids.size() * 4];
+        int i = 0;
+        for (UUID uuid : uuids) {
+            writeUuid(values, i, uuid);
+            i += 4;
+        }
+        return new IntArrayTag(values);
+    }
+
+    public static void readUuids(int[] values, Collection<UUID> uuids) {
+        for (int i = 0; i + 3 < values.length; i += 4) {
+            uuids.add(new UUID(
+                (long) values[i] << 32 | values[i + 1] & 0xFFFFFFFFL,
+                (long) values[i + 2] << 32 | values[i + 3] & 0xFFFFFFFFL
+            ));
+        }
+    }
+
+    private static void writeUuid(int[] values, int i, UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        values[i] = (int) (most >> 32);
+        values[i + 1] = (int) most;
+        values[i + 2] = (int) (least >> 32);
+        values[i + 3] = (int) least;
+    }
+
+    public static void putId(CompoundTag compoundTag, String key, @Nullable ResourceLocation id) {
+        if (id != null) compoundTag.putString(key, id.toString());
+    }
+
+    /**
+     * Reads an id, reusing the instance parsed for any earlier crystal with the same id.
+     */
+    public static @Nullable ResourceLocation getId(CompoundTag compoundTag, String key) {
+        if (!compoundTag.contains(key, Tag.TAG_STRING)) return null;
+        String value = compoundTag.getString(key);
+        ResourceLocation id = IDS.get(value);
+        if (id != null) return id;
+
+        id = ResourceLocation.tryParse(value);
+        if (id == null) return null;
+        if (IDS.size() >= MAX_CACHED_IDS) IDS.clear();
+        IDS.put(value, id);
+        return id;
+    }
+
+    private static @Nullable UUID parseUuid(String value) {
+        if (value.isEmpty()) return null;
+        try {
+            return UUID.fromString(value);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.necro.raid.dens.common.client;
 
 import com.cobblemon.mod.common.client.CobblemonClient;
 import com.necro.raid.dens.common.CobblemonRaidDens;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.Mth;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -13,33 +16,71 @@ public class ClientManager {
     
     // Boss HP ratio (0.0 to 1.0) - used for the center boss bar only
     // This is INDEPENDENT from the Pokemon battle HP bar (right side Cobblemon UI)
+    // The server sends keyframes; between them the ratio is extrapolated from the keyframe's rate
+    private static final int MAX_EXTRAPOLATION_TICKS = 40;
+    private static final float RECONCILE_FACTOR = 0.35f;
+
+    private static float keyframeRatio = 1.0f;
+    private static long keyframeTime = -1L;
+    private static float keyframeRate = 0.0f;
     private static float bossHealthRatio = 1.0f;
+    private static float prevBossHealthRatio = 1.0f;
     
     /**
      * Sync the boss health ratio from server.
      * This only affects the boss bar display, NOT the Pokemon battle HP.
      * 
      * @param ratio Health ratio from 0.0 to 1.0
+     * @param gameTime Server game time of the keyframe, or -1 to snap to the ratio
+     * @param rate Change in ratio per tick to extrapolate with
      */
-    public static void syncBossHealthRatio(float ratio) {
-        bossHealthRatio = ratio;
+    public static void syncBossHealthRatio(float ratio, long gameTime, float rate) {
+        boolean snap = gameTime < 0 || keyframeTime < 0;
+        keyframeRatio = ratio;
+        keyframeTime = gameTime;
+        keyframeRate = rate;
+        if (snap) {
+            bossHealthRatio = ratio;
+            prevBossHealthRatio = ratio;
+        }
     }
     
     /**
-     * Get the current boss health ratio.
+     * Get the boss health ratio interpolated for the current frame.
      */
-    public static float getBossHealthRatio() {
-        return bossHealthRatio;
+    public static float getBossHealthRatio(float partialTick) {
+        return Mth.lerp(partialTick, prevBossHealthRatio, bossHealthRatio);
     }
     
     /**
      * Reset boss health ratio (when raid ends).
      */
     public static void resetBossHealth() {
+        keyframeRatio = 1.0f;
+        keyframeTime = -1L;
+        keyframeRate = 0.0f;
         bossHealthRatio = 1.0f;
+        prevBossHealthRatio = 1.0f;
+    }
+
+    private static float predictBossHealthRatio() {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (keyframeTime < 0 || keyframeRate == 0.0f || level == null) return keyframeRatio;
+
+        long elapsed = Mth.clamp(level.getGameTime() - keyframeTime, 0, MAX_EXTRAPOLATION_TICKS);
+        float predicted = keyframeRatio + keyframeRate * elapsed;
+        // Never extrapolate a living boss to zero; only the server can report a defeat
+        float floor = keyframeRatio > 0.0f ? Math.min(keyframeRatio, 0.01f) : 0.0f;
+        return Mth.clamp(predicted, floor, 1.0f);
+    }
+
+    private static void tickBossHealth() {
+        prevBossHealthRatio = bossHealthRatio;
+        bossHealthRatio += (predictBossHealthRatio() - bossHealthRatio) * RECONCILE_FACTOR;
     }
 
     public static void clientTick() {
+        tickBossHealth();
         if (RAID_INSTRUCTION_QUEUE.isEmpty()) return;
         else if (CobblemonClient.INSTANCE.getBattle() == null) return;
         Iterator<Callable<Boolean>> iter = RAID_INSTRUCTION_QUEUE.iterator();
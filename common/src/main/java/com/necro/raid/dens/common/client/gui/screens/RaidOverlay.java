@@ -2,6 +2,7 @@ package com.necro.raid.dens.common.client.gui.screens;
 
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.CobblemonRaidDensClient;
+import com.necro.raid.dens.common.client.ClientManager;
 import com.necro.raid.dens.common.client.gui.RaidScreenComponents;
 import com.necro.raid.dens.common.client.gui.buttons.AbstractRaidButton;
 import com.necro.raid.dens.common.client.gui.components.LogComponent;
@@ -11,6 +12,7 @@ import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.FormattedCharSequence;
+import net.minecraft.util.Mth;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +21,7 @@ public class RaidOverlay extends AbstractOverlay {
     private static final ResourceLocation OVERLAY = ResourceLocation.fromNamespaceAndPath(CobblemonRaidDens.MOD_ID, "textures/gui/raid/overlay.png");
     private static final int OVERLAY_WIDTH = 40;
     private static final int OVERLAY_HEIGHT = 34;
+    private static final int HEALTH_BAR_HEIGHT = 3;
 
     private final List<LogComponent> battleLog;
 
@@ -38,6 +41,7 @@ public class RaidOverlay extends AbstractOverlay {
         int y = (int) ((maxY - OVERLAY_HEIGHT) * CobblemonRaidDensClient.CLIENT_CONFIG.raid_status_y / 100.0);
 
         guiGraphics.blit(OVERLAY, x, y, 0, 0, OVERLAY_WIDTH, OVERLAY_HEIGHT, OVERLAY_WIDTH, OVERLAY_HEIGHT);
+        this.renderHealthBar(guiGraphics, x, y + OVERLAY_HEIGHT + 1, partialTick);
 
         guiGraphics.pose().pushPose();
         guiGraphics.pose().translate(x, y, 0);
@@ -66,6 +70,15 @@ public class RaidOverlay extends AbstractOverlay {
         RaidScreenComponents.LEAVE_RAID_BUTTON.renderStatic(guiGraphics);
     }
 
+    private void renderHealthBar(GuiGraphics guiGraphics, int x, int y, float partialTick) {
+        float ratio = ClientManager.getBossHealthRatio(partialTick);
+        int filled = Math.round(OVERLAY_WIDTH * ratio);
+        int color = Mth.hsvToRgb(ratio / 3f, 1.0f, 1.0f) | 0xFF000000;
+
+        guiGraphics.fill(x, y, x + OVERLAY_WIDTH, y + HEALTH_BAR_HEIGHT, 0xAA000000);
+        guiGraphics.fill(x, y, x + filled, y + HEALTH_BAR_HEIGHT, color);
+    }
+
     @Override
     public List<AbstractRaidButton> getButtons() {
         return List.of(RaidScreenComponents.LEAVE_RAID_BUTTON);
@@ -1,26 +1,47 @@
 package com.necro.raid.dens.common.commands;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.necro.raid.dens.common.blocks.block.RaidCrystalBlock;
 import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
 import com.necro.raid.dens.common.dimensions.DimensionHelper;
+import com.necro.raid.dens.common.journal.RaidJournal;
+import com.necro.raid.dens.common.raids.ClearedRaidCompactor;
+import com.necro.raid.dens.common.raids.DenAdminJobs;
+import com.necro.raid.dens.common.raids.DenIndex;
+import com.necro.raid.dens.common.raids.HealthSync;
 import com.necro.raid.dens.common.raids.RaidHelper;
+import com.necro.raid.dens.common.raids.RaidTier;
+import com.necro.raid.dens.common.raids.SharedHealthRaid;
+import com.necro.raid.dens.common.util.RaidBossInterner;
 import com.necro.raid.dens.common.util.RaidUtils;
+import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.DimensionArgument;
 import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.*;
+import java.util.function.Predicate;
+
 public class RaidAdminCommands {
+    private static final int LOCATE_RADIUS = 1024;
+    private static final int LOCATE_LINES = 10;
+
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("crd")
             .then(Commands.literal("resetclears")
@@ -59,9 +80,99 @@ public class RaidAdminCommands {
                 .requires(CommandSourceStack::isPlayer)
                 .executes(RaidAdminCommands::refreshPlayer)
             )
+            .then(Commands.literal("heap")
+                .requires(source -> source.hasPermission(2))
+                .executes(RaidAdminCommands::heapReport)
+            )
+            .then(Commands.literal("healthsync")
+                .requires(source -> source.hasPermission(2))
+                .executes(RaidAdminCommands::healthSyncReport)
+            )
+            .then(Commands.literal("journal")
+                .requires(source -> source.hasPermission(2))
+                .executes(RaidAdminCommands::journalReport)
+            )
+            .then(Commands.literal("membership")
+                .requires(source -> source.hasPermission(2))
+                .executes(RaidAdminCommands::verifyMembership)
+            )
+            .then(Commands.literal("compact")
+                .requires(source -> source.hasPermission(2))
+                .executes(RaidAdminCommands::compactClears)
+            )
+            .then(Commands.literal("locate")
+                .requires(source -> source.hasPermission(2))
+                .executes(context -> locateDens(context, LOCATE_RADIUS, entry -> true))
+                .then(Commands.argument("radius", IntegerArgumentType.integer(1))
+                    .executes(context -> locateDens(
+                        context, IntegerArgumentType.getInteger(context, "radius"), entry -> true
+                    ))
+                    .then(Commands.literal("tier")
+                        .then(Commands.argument("tier", StringArgumentType.word())
+                            .suggests(RaidDenCommands.RAID_TIERS)
+                            .executes(context -> {
+                                RaidTier tier = RaidTier.fromString(StringArgumentType.getString(context, "tier").toUpperCase());
+                                return locateDens(context, IntegerArgumentType.getInteger(context, "radius"), entry -> entry.tier() == tier);
+                            })
+                        )
+                    )
+                    .then(Commands.literal("boss")
+                        .then(Commands.argument("boss", ResourceLocationArgument.id())
+                            .suggests(RaidDenCommands.RAID_BOSSES)
+                            .executes(context -> {
+                                ResourceLocation boss = ResourceLocationArgument.getId(context, "boss");
+                                return locateDens(context, IntegerArgumentType.getInteger(context, "radius"), entry -> boss.equals(entry.boss()));
+                            })
+                        )
+                    )
+                )
+            )
+            .then(Commands.literal("bulk")
+                .requires(source -> source.hasPermission(2))
+                .then(denJob("resetclears", DenAdminJobs.RESET_CLEARS))
+                .then(denJob("reroll", DenAdminJobs.REROLL))
+                .then(Commands.literal("status")
+                    .executes(RaidAdminCommands::denJobStatus)
+                )
+                .then(Commands.literal("cancel")
+                    .then(Commands.argument("id", IntegerArgumentType.integer(1))
+                        .executes(RaidAdminCommands::cancelDenJob)
+                    )
+                )
+            )
         );
     }
 
+    private static LiteralArgumentBuilder<CommandSourceStack> denJob(String name, int changes) {
+        return withDenFilters(Commands.literal(name), changes, false)
+            .then(Commands.literal("radius")
+                .then(withDenFilters(Commands.argument("radius", IntegerArgumentType.integer(1)), changes, true))
+            );
+    }
+
+    private static <T extends ArgumentBuilder<CommandSourceStack, T>> T withDenFilters(T builder, int changes, boolean hasRadius) {
+        return builder
+            .executes(context -> submitDenJob(context, changes, hasRadius, entry -> true))
+            .then(Commands.literal("tier")
+                .then(Commands.argument("tier", StringArgumentType.word())
+                    .suggests(RaidDenCommands.RAID_TIERS)
+                    .executes(context -> {
+                        RaidTier tier = RaidTier.fromString(StringArgumentType.getString(context, "tier").toUpperCase());
+                        return submitDenJob(context, changes, hasRadius, entry -> entry.tier() == tier);
+                    })
+                )
+            )
+            .then(Commands.literal("boss")
+                .then(Commands.argument("boss", ResourceLocationArgument.id())
+                    .suggests(RaidDenCommands.RAID_BOSSES)
+                    .executes(context -> {
+                        ResourceLocation boss = ResourceLocationArgument.getId(context, "boss");
+                        return submitDenJob(context, changes, hasRadius, entry -> boss.equals(entry.boss()));
+                    })
+                )
+            );
+    }
+
     @SuppressWarnings("unused")
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher, CommandBuildContext commandBuildContext, Commands.CommandSelection commandSelection) {
         register(dispatcher);
@@ -132,6 +243,138 @@ public class RaidAdminCommands {
         else return 0;
     }
 
+    private static int heapReport(CommandContext<CommandSourceStack> context) {
+        context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.heap_report",
+            RaidBossInterner.getRequests(), RaidBossInterner.getPooled(),
+            RaidBossInterner.getRequestedBytes(), RaidBossInterner.getRetainedBytes()
+        )));
+        return 1;
+    }
+
+    private static int healthSyncReport(CommandContext<CommandSourceStack> context) {
+        if (SharedHealthRaid.getRunning().isEmpty()) {
+            context.getSource().sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.command.health_sync_empty"));
+            return 0;
+        }
+        SharedHealthRaid.getRunning().forEach((id, raid) -> sendHealthSyncLine(context, id, raid.getHealthSync()));
+        return 1;
+    }
+
+    private static void sendHealthSyncLine(CommandContext<CommandSourceStack> context, UUID raidId, HealthSync healthSync) {
+        context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.health_sync",
+            raidId.toString(), healthSync.getPacketsSent(), healthSync.getUpdatesCoalesced()
+        )));
+    }
+
+    private static int journalReport(CommandContext<CommandSourceStack> context) {
+        if (!RaidJournal.isEnabled()) {
+            context.getSource().sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.command.journal_disabled"));
+            return 0;
+        }
+        context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.journal_report", RaidJournal.getDropped()
+        )));
+        return 1;
+    }
+
+    private static int verifyMembership(CommandContext<CommandSourceStack> context) {
+        Map<UUID, List<ServerPlayer>> raids = new HashMap<>();
+        SharedHealthRaid.getRunning().forEach((id, raid) -> raids.put(id, raid.getPlayers()));
+
+        List<String> problems = SharedHealthRaid.MEMBERSHIP.verify(raids);
+        if (problems.isEmpty()) {
+            context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+                "message.cobblemonraiddens.command.membership_ok",
+                SharedHealthRaid.MEMBERSHIP.getPlayerCount(),
+                SharedHealthRaid.MEMBERSHIP.getRaidCount()
+            )));
+            return 1;
+        }
+        problems.forEach(problem -> context.getSource().sendFailure(Component.literal(problem)));
+        context.getSource().sendFailure(Component.translatable("error.cobblemonraiddens.membership_invalid", problems.size()));
+        return 0;
+    }
+
+    private static int compactClears(CommandContext<CommandSourceStack> context) {
+        ClearedRaidCompactor.compactNow(context.getSource().getServer());
+        context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.compaction",
+            ClearedRaidCompactor.getLastRecords(), ClearedRaidCompactor.getLastBytes(), ClearedRaidCompactor.getTotalBytes()
+        )));
+        return 1;
+    }
+
+    private static int locateDens(CommandContext<CommandSourceStack> context, int radius, Predicate<DenIndex.DenEntry> filter) {
+        CommandSourceStack source = context.getSource();
+        BlockPos center = BlockPos.containing(source.getPosition());
+        List<DenIndex.DenEntry> dens = DenIndex.query(source.getLevel().dimension(), center, radius, filter);
+        if (dens.isEmpty()) {
+            source.sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable("message.cobblemonraiddens.command.locate_empty", radius)));
+            sendIndexCoverage(source);
+            return 0;
+        }
+
+        source.sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.locate", dens.size(), radius, DenIndex.size(source.getLevel().dimension())
+        )));
+        for (int i = 0; i < Math.min(dens.size(), LOCATE_LINES); i++) {
+            DenIndex.DenEntry den = dens.get(i);
+            BlockPos blockPos = den.getBlockPos();
+            source.sendSystemMessage(Component.translatable(
+                "message.cobblemonraiddens.command.locate_entry",
+                den.boss() == null ? "-" : den.boss().toString(), den.tier().getSerializedName(),
+                den.state().name().toLowerCase(), blockPos.getX(), blockPos.getY(), blockPos.getZ(),
+                (int) Math.sqrt(den.distanceSqr(center))
+            ));
+        }
+        sendIndexCoverage(source);
+        return dens.size();
+    }
+
+    private static int submitDenJob(CommandContext<CommandSourceStack> context, int changes, boolean hasRadius, Predicate<DenIndex.DenEntry> filter) {
+        CommandSourceStack source = context.getSource();
+        int radius = hasRadius ? IntegerArgumentType.getInteger(context, "radius") : -1;
+        DenAdminJobs.Job job = DenAdminJobs.submit(
+            source, source.getLevel(), changes, BlockPos.containing(source.getPosition()), radius, filter
+        );
+        source.sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.den_job_started", job.getId(), job.getRegionCount()
+        )));
+        sendIndexCoverage(source);
+        return job.getId();
+    }
+
+    /**
+     * The index is not backfilled, so dens generated before it existed are missing until their chunk loads again.
+     */
+    private static void sendIndexCoverage(CommandSourceStack source) {
+        source.sendSystemMessage(Component.translatable("message.cobblemonraiddens.command.den_index_coverage").withStyle(ChatFormatting.GRAY));
+    }
+
+    private static int denJobStatus(CommandContext<CommandSourceStack> context) {
+        List<DenAdminJobs.Job> jobs = DenAdminJobs.getJobs();
+        if (jobs.isEmpty()) {
+            context.getSource().sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.command.den_job_none"));
+            return 0;
+        }
+        jobs.forEach(job -> context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(job.describe())));
+        return jobs.size();
+    }
+
+    private static int cancelDenJob(CommandContext<CommandSourceStack> context) {
+        int id = IntegerArgumentType.getInteger(context, "id");
+        if (!DenAdminJobs.cancel(id)) {
+            context.getSource().sendFailure(Component.translatable("error.cobblemonraiddens.den_job_not_found", id));
+            return 0;
+        }
+        context.getSource().sendSystemMessage(RaidHelper.getSystemMessage(Component.translatable(
+            "message.cobblemonraiddens.command.den_job_cancelled", id
+        )));
+        return 1;
+    }
+
     private static int removeDimension(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
         ServerLevel level = DimensionArgument.getDimension(context, "dimension");
         if (!RaidUtils.isCustomDimension(level)) {
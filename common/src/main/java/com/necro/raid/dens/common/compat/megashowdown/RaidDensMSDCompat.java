@@ -11,6 +11,9 @@ import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.phys.Vec3;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 public abstract class RaidDensMSDCompat {
     public static void setupTera(PokemonEntity pokemonEntity, Pokemon pokemon) {
         Vec3 entityPos = pokemonEntity.position();
@@ -35,28 +38,28 @@ public abstract class RaidDensMSDCompat {
         GlowHandler.applyDynamaxGlow(pokemonEntity);
     }
 
-    public static ItemStack getTeraShard(RaidType raidType) {
-        return switch (raidType) {
-            case FIGHTING -> MegaShowdownItems.FIGHTING_TERA_SHARD.get().getDefaultInstance();
-            case FLYING -> MegaShowdownItems.FLYING_TERA_SHARD.get().getDefaultInstance();
-            case POISON -> MegaShowdownItems.POISON_TERA_SHARD.get().getDefaultInstance();
-            case GROUND -> MegaShowdownItems.GROUND_TERA_SHARD.get().getDefaultInstance();
-            case ROCK -> MegaShowdownItems.ROCK_TERA_SHARD.get().getDefaultInstance();
-            case BUG -> MegaShowdownItems.BUG_TERA_SHARD.get().getDefaultInstance();
-            case GHOST -> MegaShowdownItems.GHOST_TERA_SHARD.get().getDefaultInstance();
-            case STEEL -> MegaShowdownItems.STEEL_TERA_SHARD.get().getDefaultInstance();
-            case FIRE -> MegaShowdownItems.FIRE_TERA_SHARD.get().getDefaultInstance();
-            case WATER -> MegaShowdownItems.WATER_TERA_SHARD.get().getDefaultInstance();
-            case GRASS -> MegaShowdownItems.GRASS_TERA_SHARD.get().getDefaultInstance();
-            case ELECTRIC -> MegaShowdownItems.ELECTRIC_TERA_SHARD.get().getDefaultInstance();
-            case PSYCHIC -> MegaShowdownItems.PSYCHIC_TERA_SHARD.get().getDefaultInstance();
-            case ICE -> MegaShowdownItems.ICE_TERA_SHARD.get().getDefaultInstance();
-            case DRAGON -> MegaShowdownItems.DRAGON_TERA_SHARD.get().getDefaultInstance();
-            case DARK -> MegaShowdownItems.DARK_TERA_SHARD.get().getDefaultInstance();
-            case FAIRY -> MegaShowdownItems.FAIRY_TERA_SHARD.get().getDefaultInstance();
-            case STELLAR -> MegaShowdownItems.STELLAR_TERA_SHARD.get().getDefaultInstance();
-            default -> MegaShowdownItems.NORMAL_TERA_SHARD.get().getDefaultInstance();
-        };
+    public static Map<RaidType, ItemStack> createTeraShards() {
+        Map<RaidType, ItemStack> shards = new EnumMap<>(RaidType.class);
+        shards.put(RaidType.FIGHTING, MegaShowdownItems.FIGHTING_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.FLYING, MegaShowdownItems.FLYING_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.POISON, MegaShowdownItems.POISON_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.GROUND, MegaShowdownItems.GROUND_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.ROCK, MegaShowdownItems.ROCK_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.BUG, MegaShowdownItems.BUG_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.GHOST, MegaShowdownItems.GHOST_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.STEEL, MegaShowdownItems.STEEL_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.FIRE, MegaShowdownItems.FIRE_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.WATER, MegaShowdownItems.WATER_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.GRASS, MegaShowdownItems.GRASS_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.ELECTRIC, MegaShowdownItems.ELECTRIC_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.PSYCHIC, MegaShowdownItems.PSYCHIC_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.ICE, MegaShowdownItems.ICE_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.DRAGON, MegaShowdownItems.DRAGON_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.DARK, MegaShowdownItems.DARK_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.FAIRY, MegaShowdownItems.FAIRY_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.STELLAR, MegaShowdownItems.STELLAR_TERA_SHARD.get().getDefaultInstance());
+        shards.put(RaidType.NORMAL, MegaShowdownItems.NORMAL_TERA_SHARD.get().getDefaultInstance());
+        return shards;
     }
 
     public static ItemStack getMaxMushroom() {
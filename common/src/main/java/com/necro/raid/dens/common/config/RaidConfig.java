@@ -30,4 +30,21 @@ public class RaidConfig implements ConfigData {
     
     @Comment("Duration of raids in seconds. Default: 600 (10 minutes)")
     public int coop_raid_duration_seconds = 600;
+    @Comment("Raid starts are queued while the average tick time plus the measured cost of starting a raid would go over this many milliseconds (Set to -1 to never queue). Default: 45.0")
+    public float raid_start_mspt_budget = 45.0f;
+    @Comment("How often in seconds the progress of running raids is checkpointed, so it survives a crash or restart. Default: 15")
+    public int raid_checkpoint_interval = 15;
+    @Comment("Whether raids interrupted by a crash or restart are resumed from their last checkpoint instead of rolled back. Default: true")
+    public boolean resume_interrupted_raids = true;
+    @Comment("Whether raid events are written to a binary journal in the world folder, for analysing lag or disputed results later. Default: false")
+    public boolean enable_raid_journal = false;
+    @Comment("Size in megabytes at which the raid journal starts a new file. Default: 16")
+    public int raid_journal_file_size_mb = 16;
+    @Comment("How many raid journal files are kept before the oldest are deleted. Default: 8")
+    public int raid_journal_max_files = 8;
+
+    @Comment("Minimum ticks between boss health updates sent to raid players. Clients interpolate between updates. Default: 10")
+    public int health_sync_interval = 10;
+    @Comment("Minimum change in boss health ratio (0.0 to 1.0) before an update is sent. Default: 0.0")
+    public float health_sync_threshold = 0.0f;
 }
@@ -9,6 +9,7 @@ public interface TierConfig {
     boolean allRequireUniqueKey();
     int maxPlayers();
     int maxClears();
+    int maxConcurrentRaids();
     double haRate();
     int maxCheers();
     int raidPartySize();
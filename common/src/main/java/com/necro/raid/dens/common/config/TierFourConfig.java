@@ -18,6 +18,8 @@ public class TierFourConfig implements ConfigData, TierConfig {
     public int max_players = 4;
     @Comment("Number of clears until the raid den deactivates (Set to -1 for no limit). Default: 3")
     public int max_clears = 3;
+    @Comment("Maximum number of raids of this tier open at once. Further raid starts are queued (Set to -1 for no limit). Default: -1")
+    public int max_concurrent_raids = -1;
     @Comment("The max number of cheers a player can use per raid. Default: 3")
     public int max_cheers = 3;
     @Comment("The chance for raid bosses to have their hidden ability. Default: 0.20")
@@ -60,6 +62,9 @@ public class TierFourConfig implements ConfigData, TierConfig {
     public int maxClears() {
         return this.max_clears;
     }
+    public int maxConcurrentRaids() {
+        return this.max_concurrent_raids;
+    }
     public double haRate() {
         return this.ha_rate;
     }
@@ -8,6 +8,7 @@ import com.necro.raid.dens.common.mixins.dimension.MinecraftServerAccessor;
 import com.necro.raid.dens.common.mixins.dimension.ServerLevelAccessor;
 import com.necro.raid.dens.common.util.ILevelsSetter;
 import com.necro.raid.dens.common.util.IRegistryRemover;
+import com.necro.raid.dens.common.util.RaidScheduler;
 import net.minecraft.Util;
 import net.minecraft.core.MappedRegistry;
 import net.minecraft.core.registries.Registries;
@@ -22,10 +23,11 @@ import org.apache.logging.log4j.util.TriConsumer;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 public class DimensionHelper {
     public static TriConsumer<MinecraftServer, ResourceKey<Level>, Boolean> SYNC_DIMENSIONS;
+    public static BiFunction<MinecraftServer, ResourceKey<Level>, ServerLevel> RESTORE_DIMENSION;
     private static final Set<PendingDimension> QUEUED_FOR_REMOVAL = new HashSet<>();
     private static final Set<ResourceKey<Level>> DELAYED_REMOVAL = new HashSet<>();
     private static final Set<ResourceKey<Level>> REMOVED_LEVELS = new HashSet<>();
@@ -88,6 +90,16 @@ public class DimensionHelper {
         return REMOVED_LEVELS.contains(level);
     }
 
+    /**
+     * Forgets removals still in flight when the server stops, so an integrated server does not carry them over into
+     * the next world.
+     */
+    public static void clear() {
+        QUEUED_FOR_REMOVAL.clear();
+        DELAYED_REMOVAL.clear();
+        REMOVED_LEVELS.clear();
+    }
+
     private static class PendingDimension {
         private final ResourceKey<Level> levelKey;
         private final ServerLevel level;
@@ -128,7 +140,8 @@ public class DimensionHelper {
             ((IRegistryRemover<LevelStem>) levelStemRegistry).removeDimension(this.levelKey.location());
 
             ((ILevelsSetter) server).deleteLevel(this.levelKey);
-            CompletableFuture.delayedExecutor(2, TimeUnit.SECONDS).execute(() -> REMOVED_LEVELS.remove(this.level.dimension()));
+            if (server.isRunning()) RaidScheduler.schedule(40, () -> REMOVED_LEVELS.remove(this.level.dimension()));
+            else REMOVED_LEVELS.remove(this.level.dimension());
         }
     }
 }
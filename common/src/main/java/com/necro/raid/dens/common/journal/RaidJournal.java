@@ -0,0 +1,294 @@
+package com.necro.raid.dens.common.journal;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An optional binary journal of what happens in raids, for working out lag reports and disputed results after the
+ * fact. Records are written into a buffer on the server thread, and each tick's buffer is handed to a background
+ * writer. Journal files are started fresh once they reach {@code raid_journal_file_size_mb}, and the oldest are
+ * deleted beyond {@code raid_journal_max_files}. If the writer falls behind, whole buffers are dropped and counted
+ * rather than stalling the server.
+ * <p>
+ * Each file starts with {@link #MAGIC} and {@link #VERSION}. Each record is a type byte, the game time, the raid id as
+ * two longs, and a payload fixed by its type. {@link RaidJournalReader} reads them back.
+ */
+public class RaidJournal {
+    public static final int MAGIC = 0x43524A4C;
+    public static final int VERSION = 1;
+
+    public static final byte START = 0;
+    public static final byte END = 1;
+    public static final byte JOIN = 2;
+    public static final byte LEAVE = 3;
+    public static final byte BATTLE_HP = 4;
+    public static final byte KNOCKOUT = 5;
+    public static final byte DAMAGE = 6;
+    public static final byte SCRIPT = 7;
+    public static final byte CHEER = 8;
+    public static final byte PACKETS = 9;
+    public static final byte TIMING = 10;
+    public static final byte REWARD_ISSUED = 11;
+    public static final byte REWARD_CLAIMED = 12;
+
+    public static final byte SCRIPT_TURN = 0;
+    public static final byte SCRIPT_HP = 1;
+
+    public static final byte PHASE_INBOX = 0;
+    public static final byte PHASE_DAMAGE = 1;
+    public static final byte PHASE_LOG = 2;
+    public static final int PHASE_COUNT = 3;
+
+    private static final UUID NO_RAID = new UUID(0L, 0L);
+    private static final int HEADER_SIZE = 1 + 8 + 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_PENDING_BUFFERS = 32;
+
+    private static ExecutorService WRITER = null;
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static ByteBuffer BUFFER = null;
+    private static long DROPPED = 0;
+
+    private static Path DIRECTORY;
+    private static FileChannel CHANNEL;
+    private static long FILE_SIZE;
+
+    public static void open(MinecraftServer server) {
+        close();
+        if (!CobblemonRaidDens.CONFIG.enable_raid_journal) return;
+        DIRECTORY = server.getWorldPath(LevelResource.ROOT).resolve(CobblemonRaidDens.MOD_ID).resolve("journal");
+        WRITER = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Raid Journal Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BUFFER = ByteBuffer.allocate(BUFFER_SIZE);
+        DROPPED = 0;
+    }
+
+    public static boolean isEnabled() {
+        return WRITER != null;
+    }
+
+    public static void raidStart(UUID raid, long gameTime, ResourceLocation boss, float maxHealth, int durationTicks) {
+        byte[] name = boss.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = begin(START, gameTime, raid, 2 + name.length + 8);
+        if (buffer == null) return;
+        buffer.putShort((short) name.length).put(name);
+        buffer.putFloat(maxHealth).putInt(durationTicks);
+    }
+
+    public static void raidEnd(UUID raid, long gameTime, boolean success, int remainingTicks) {
+        ByteBuffer buffer = begin(END, gameTime, raid, 5);
+        if (buffer == null) return;
+        buffer.put((byte) (success ? 1 : 0)).putInt(remainingTicks);
+    }
+
+    public static void player(byte type, UUID raid, long gameTime, UUID player) {
+        ByteBuffer buffer = begin(type, gameTime, raid, 16);
+        if (buffer == null) return;
+        putUuid(buffer, player);
+    }
+
+    public static void battleHp(UUID raid, long gameTime, UUID player, float remainingHealth) {
+        ByteBuffer buffer = begin(BATTLE_HP, gameTime, raid, 20);
+        if (buffer == null) return;
+        putUuid(buffer, player);
+        buffer.putFloat(remainingHealth);
+    }
+
+    public static void damage(UUID raid, long gameTime, float amount, float healthAfter) {
+        ByteBuffer buffer = begin(DAMAGE, gameTime, raid, 8);
+        if (buffer == null) return;
+        buffer.putFloat(amount).putFloat(healthAfter);
+    }
+
+    public static void script(UUID raid, long gameTime, byte kind, int index) {
+        ByteBuffer buffer = begin(SCRIPT, gameTime, raid, 5);
+        if (buffer == null) return;
+        buffer.put(kind).putInt(index);
+    }
+
+    public static void cheer(UUID raid, long gameTime, UUID player, int cheersLeft) {
+        ByteBuffer buffer = begin(CHEER, gameTime, raid, 20);
+        if (buffer == null) return;
+        putUuid(buffer, player);
+        buffer.putInt(cheersLeft);
+    }
+
+    public static void packets(UUID raid, long gameTime, long packetsSent, long updatesCoalesced) {
+        ByteBuffer buffer = begin(PACKETS, gameTime, raid, 16);
+        if (buffer == null) return;
+        buffer.putLong(packetsSent).putLong(updatesCoalesced);
+    }
+
+    public static void timing(UUID raid, long gameTime, byte phase, int ticks, long totalNanos, long maxNanos) {
+        ByteBuffer buffer = begin(TIMING, gameTime, raid, 21);
+        if (buffer == null) return;
+        buffer.put(phase).putInt(ticks).putLong(totalNanos).putLong(maxNanos);
+    }
+
+    public static void rewardIssued(long gameTime, UUID player, UUID token, boolean isCatchable) {
+        ByteBuffer buffer = begin(REWARD_ISSUED, gameTime, NO_RAID, 33);
+        if (buffer == null) return;
+        putUuid(buffer, player);
+        putUuid(buffer, token);
+        buffer.put((byte) (isCatchable ? 1 : 0));
+    }
+
+    public static void rewardClaimed(long gameTime, UUID player, UUID token) {
+        ByteBuffer buffer = begin(REWARD_CLAIMED, gameTime, NO_RAID, 32);
+        if (buffer == null) return;
+        putUuid(buffer, player);
+        putUuid(buffer, token);
+    }
+
+    private static @Nullable ByteBuffer begin(byte type, long gameTime, UUID raid, int payload) {
+        if (BUFFER == null) return null;
+        if (BUFFER.remaining() < HEADER_SIZE + payload) flush();
+        BUFFER.put(type).putLong(gameTime);
+        putUuid(BUFFER, raid);
+        return BUFFER;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Hands the records written this tick to the writer.
+     */
+    public static void flush() {
+        if (BUFFER == null || BUFFER.position() == 0) return;
+        BUFFER.flip();
+        if (PENDING.incrementAndGet() > MAX_PENDING_BUFFERS) {
+            PENDING.decrementAndGet();
+            if (DROPPED++ == 0) CobblemonRaidDens.LOGGER.warn("Raid journal writer is falling behind, dropping records");
+            BUFFER.clear();
+            return;
+        }
+
+        ByteBuffer buffer = BUFFER;
+        BUFFER = ByteBuffer.allocate(BUFFER_SIZE);
+        WRITER.execute(() -> {
+            try {
+                write(buffer);
+            }
+            catch (IOException e) {
+                CobblemonRaidDens.LOGGER.error("Could not write to the raid journal", e);
+                closeChannel();
+            }
+            finally {
+                PENDING.decrementAndGet();
+            }
+        });
+    }
+
+    private static void write(ByteBuffer buffer) throws IOException {
+        long maxSize = Math.max(1, CobblemonRaidDens.CONFIG.raid_journal_file_size_mb) * 1024L * 1024L;
+        if (CHANNEL == null || FILE_SIZE + buffer.remaining() > maxSize) rotate();
+        FILE_SIZE += buffer.remaining();
+        while (buffer.hasRemaining()) CHANNEL.write(buffer);
+    }
+
+    private static void rotate() throws IOException {
+        closeChannel();
+        Files.createDirectories(DIRECTORY);
+        Path path = DIRECTORY.resolve(String.format("raids-%d.journal", System.currentTimeMillis()));
+        CHANNEL = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) CHANNEL.write(header);
+        FILE_SIZE = 8;
+
+        File[] files = DIRECTORY.toFile().listFiles((dir, name) -> name.endsWith(".journal"));
+        int maxFiles = Math.max(1, CobblemonRaidDens.CONFIG.raid_journal_max_files);
+        if (files == null || files.length <= maxFiles) return;
+        Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+        for (int i = 0; i < files.length - maxFiles; i++) Files.deleteIfExists(files[i].toPath());
+    }
+
+    private static void closeChannel() {
+        if (CHANNEL == null) return;
+        try {
+            CHANNEL.close();
+        }
+        catch (IOException ignored) {}
+        CHANNEL = null;
+    }
+
+    public static long getDropped() {
+        return DROPPED;
+    }
+
+    /**
+     * Writes out everything buffered and stops the writer.
+     */
+    public static void close() {
+        if (WRITER == null) return;
+        flush();
+        WRITER.execute(RaidJournal::closeChannel);
+        WRITER.shutdown();
+        try {
+            if (!WRITER.awaitTermination(10, TimeUnit.SECONDS)) CobblemonRaidDens.LOGGER.warn("Raid journal writer did not finish in time");
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WRITER = null;
+        BUFFER = null;
+    }
+
+    /**
+     * Per-phase tick timings for one raid, summed and reported about once a second.
+     */
+    public static class Timings {
+        private final long[] total = new long[PHASE_COUNT];
+        private final long[] max = new long[PHASE_COUNT];
+        private int ticks = 0;
+
+        public long start() {
+            return isEnabled() ? System.nanoTime() : 0L;
+        }
+
+        public long stop(byte phase, long start) {
+            if (start == 0L) return 0L;
+            long now = System.nanoTime();
+            long nanos = now - start;
+            this.total[phase] += nanos;
+            this.max[phase] = Math.max(this.max[phase], nanos);
+            return now;
+        }
+
+        /**
+         * Counts a tick and reports the sums every 20 ticks. Returns true when it reported.
+         */
+        public boolean tick(UUID raid, long gameTime) {
+            if (!isEnabled() || ++this.ticks < 20) return false;
+            for (byte phase = 0; phase < PHASE_COUNT; phase++) {
+                timing(raid, gameTime, phase, this.ticks, this.total[phase], this.max[phase]);
+            }
+            Arrays.fill(this.total, 0L);
+            Arrays.fill(this.max, 0L);
+            this.ticks = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.necro.raid.dens.common.journal;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads raid journals outside the game and prints a summary of every raid in them. Only uses the JDK, so it can be
+ * run straight from the mod jar:
+ * <pre>
+ * java -cp cobblemonraiddens.jar com.necro.raid.dens.common.journal.RaidJournalReader [--timeline] &lt;file or folder&gt;...
+ * </pre>
+ * With {@code --timeline}, every record is printed as well.
+ */
+public class RaidJournalReader {
+    private static final String[] PHASES = {"inbox", "damage", "log"};
+
+    private final Map<UUID, Raid> raids = new LinkedHashMap<>();
+    private final boolean timeline;
+    private int rewardsIssued = 0;
+    private int rewardsClaimed = 0;
+    private long records = 0;
+
+    private RaidJournalReader(boolean timeline) {
+        this.timeline = timeline;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean timeline = false;
+        List<File> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--timeline")) timeline = true;
+            else collect(new File(arg), files);
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: RaidJournalReader [--timeline] <file or folder>...");
+            return;
+        }
+
+        RaidJournalReader reader = new RaidJournalReader(timeline);
+        for (File file : files) reader.read(file);
+        reader.printSummary();
+    }
+
+    private static void collect(File file, List<File> files) {
+        if (!file.isDirectory()) {
+            files.add(file);
+            return;
+        }
+        File[] children = file.listFiles((dir, name) -> name.endsWith(".journal"));
+        if (children == null) return;
+        Arrays.sort(children, Comparator.comparing(File::getName));
+        files.addAll(Arrays.asList(children));
+    }
+
+    private void read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != RaidJournal.MAGIC) {
+                System.err.println(file + " is not a raid journal");
+                return;
+            }
+            int version = in.readInt();
+            if (version != RaidJournal.VERSION) {
+                System.err.println(file + " has unsupported version " + version);
+                return;
+            }
+            while (true) this.readRecord(in);
+        }
+        catch (EOFException ignored) {
+            // End of the file, or a record cut off by a crash
+        }
+    }
+
+    private void readRecord(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        long time = in.readLong();
+        UUID raidId = readUuid(in);
+        Raid raid = this.raids.computeIfAbsent(raidId, Raid::new);
+        this.records++;
+
+        switch (type) {
+            case RaidJournal.START -> {
+                byte[] name = new byte[in.readUnsignedShort()];
+                in.readFully(name);
+                raid.boss = new String(name, StandardCharsets.UTF_8);
+                raid.maxHealth = in.readFloat();
+                raid.duration = in.readInt();
+                raid.start = time;
+                this.log(time, raidId, "start " + raid.boss + " hp=" + raid.maxHealth + " ticks=" + raid.duration);
+            }
+            case RaidJournal.END -> {
+                raid.success = in.readByte() != 0;
+                raid.end = time;
+                this.log(time, raidId, (raid.success ? "success" : "failed") + " remaining=" + in.readInt());
+            }
+            case RaidJournal.JOIN, RaidJournal.LEAVE -> {
+                UUID player = readUuid(in);
+                if (type == RaidJournal.JOIN) raid.players.add(player);
+                this.log(time, raidId, (type == RaidJournal.JOIN ? "join " : "leave ") + player);
+            }
+            case RaidJournal.BATTLE_HP -> {
+                UUID player = readUuid(in);
+                this.log(time, raidId, "battle hp " + player + " " + in.readFloat());
+            }
+            case RaidJournal.KNOCKOUT -> {
+                raid.knockouts++;
+                this.log(time, raidId, "knockout " + readUuid(in));
+            }
+            case RaidJournal.DAMAGE -> {
+                float amount = in.readFloat();
+                float after = in.readFloat();
+                raid.damage += amount;
+                this.log(time, raidId, "damage " + amount + " -> " + after);
+            }
+            case RaidJournal.SCRIPT -> {
+                byte kind = in.readByte();
+                this.log(time, raidId, "script " + (kind == RaidJournal.SCRIPT_TURN ? "turn " : "hp ") + in.readInt());
+            }
+            case RaidJournal.CHEER -> {
+                raid.cheers++;
+                UUID player = readUuid(in);
+                this.log(time, raidId, "cheer " + player + " left=" + in.readInt());
+            }
+            case RaidJournal.PACKETS -> {
+                raid.packetsSent = in.readLong();
+                raid.updatesCoalesced = in.readLong();
+            }
+            case RaidJournal.TIMING -> {
+                byte phase = in.readByte();
+                int ticks = in.readInt();
+                long total = in.readLong();
+                long max = in.readLong();
+                if (phase < 0 || phase >= RaidJournal.PHASE_COUNT) return;
+                raid.phaseTicks[phase] += ticks;
+                raid.phaseNanos[phase] += total;
+                raid.phaseMax[phase] = Math.max(raid.phaseMax[phase], max);
+            }
+            case RaidJournal.REWARD_ISSUED -> {
+                UUID player = readUuid(in);
+                UUID token = readUuid(in);
+                boolean catchable = in.readByte() != 0;
+                this.rewardsIssued++;
+                this.log(time, null, "reward issued " + player + " token=" + token + (catchable ? " catchable" : ""));
+            }
+            case RaidJournal.REWARD_CLAIMED -> {
+                UUID player = readUuid(in);
+                this.rewardsClaimed++;
+                this.log(time, null, "reward claimed " + player + " token=" + readUuid(in));
+            }
+            default -> throw new IOException("Unknown record type " + type + " after " + this.records + " records");
+        }
+    }
+
+    private void log(long time, UUID raid, String message) {
+        if (!this.timeline) return;
+        System.out.printf("%10d %-36s %s%n", time, raid == null ? "-" : raid, message);
+    }
+
+    private void printSummary() {
+        int count = 0;
+        int finished = 0;
+        int successes = 0;
+        long totalDuration = 0;
+        long[] phaseTicks = new long[RaidJournal.PHASE_COUNT];
+        long[] phaseNanos = new long[RaidJournal.PHASE_COUNT];
+        long[] phaseMax = new long[RaidJournal.PHASE_COUNT];
+
+        System.out.println();
+        for (Raid raid : this.raids.values()) {
+            if (raid.boss == null) continue;
+            count++;
+            if (raid.end >= 0) {
+                finished++;
+                if (raid.success) successes++;
+                totalDuration += raid.end - raid.start;
+            }
+            for (int i = 0; i < RaidJournal.PHASE_COUNT; i++) {
+                phaseTicks[i] += raid.phaseTicks[i];
+                phaseNanos[i] += raid.phaseNanos[i];
+                phaseMax[i] = Math.max(phaseMax[i], raid.phaseMax[i]);
+            }
+            System.out.printf(
+                "%s %s: %s, %d players, %.0f/%.0f damage, %d knockouts, %d cheers, %d packets (%d coalesced)%n",
+                raid.id, raid.boss,
+                raid.end < 0 ? "unfinished" : (raid.success ? "success" : "failed") + " in " + (raid.end - raid.start) / 20 + "s",
+                raid.players.size(), raid.damage, raid.maxHealth, raid.knockouts, raid.cheers,
+                raid.packetsSent, raid.updatesCoalesced
+            );
+        }
+
+        System.out.println();
+        System.out.printf("%d records, %d raids, %d finished, %d succeeded%n", this.records, count, finished, successes);
+        if (finished > 0) System.out.printf("Average duration %ds%n", totalDuration / finished / 20);
+        System.out.printf("Rewards: %d issued, %d claimed%n", this.rewardsIssued, this.rewardsClaimed);
+        for (int i = 0; i < RaidJournal.PHASE_COUNT; i++) {
+            if (phaseTicks[i] == 0) continue;
+            System.out.printf("Phase %-6s avg %.1fus, max %.1fus%n",
+                PHASES[i], phaseNanos[i] / (double) phaseTicks[i] / 1000.0, phaseMax[i] / 1000.0);
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static class Raid {
+        private final UUID id;
+        private final Set<UUID> players = new HashSet<>();
+        private final long[] phaseTicks = new long[RaidJournal.PHASE_COUNT];
+        private final long[] phaseNanos = new long[RaidJournal.PHASE_COUNT];
+        private final long[] phaseMax = new long[RaidJournal.PHASE_COUNT];
+        private String boss = null;
+        private float maxHealth = 0f;
+        private int duration = 0;
+        private long start = -1;
+        private long end = -1;
+        private boolean success = false;
+        private float damage = 0f;
+        private int knockouts = 0;
+        private int cheers = 0;
+        private long packetsSent = 0;
+        private long updatesCoalesced = 0;
+
+        private Raid(UUID id) {
+            this.id = id;
+        }
+    }
+}
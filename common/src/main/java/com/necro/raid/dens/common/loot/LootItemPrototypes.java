@@ -0,0 +1,79 @@
+package com.necro.raid.dens.common.loot;
+
+import com.cobblemon.mod.common.CobblemonItems;
+import com.necro.raid.dens.common.compat.ModCompat;
+import com.necro.raid.dens.common.compat.megashowdown.RaidDensMSDCompat;
+import com.necro.raid.dens.common.raids.RaidType;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LootItemPrototypes {
+    private static Map<RaidType, ItemStack> GEMS = Map.of();
+    private static ItemStack[] RANDOM_GEMS = new ItemStack[0];
+    private static Map<RaidType, ItemStack> TERA_SHARDS = Map.of();
+    private static ItemStack MAX_MUSHROOM = ItemStack.EMPTY;
+    private static boolean RESOLVED = false;
+
+    public static void resolve() {
+        Map<RaidType, ItemStack> gems = new EnumMap<>(RaidType.class);
+        gems.put(RaidType.NORMAL, CobblemonItems.NORMAL_GEM.getDefaultInstance());
+        gems.put(RaidType.FIGHTING, CobblemonItems.FIGHTING_GEM.getDefaultInstance());
+        gems.put(RaidType.FLYING, CobblemonItems.FLYING_GEM.getDefaultInstance());
+        gems.put(RaidType.POISON, CobblemonItems.POISON_GEM.getDefaultInstance());
+        gems.put(RaidType.GROUND, CobblemonItems.GROUND_GEM.getDefaultInstance());
+        gems.put(RaidType.ROCK, CobblemonItems.ROCK_GEM.getDefaultInstance());
+        gems.put(RaidType.BUG, CobblemonItems.BUG_GEM.getDefaultInstance());
+        gems.put(RaidType.GHOST, CobblemonItems.GHOST_GEM.getDefaultInstance());
+        gems.put(RaidType.STEEL, CobblemonItems.STEEL_GEM.getDefaultInstance());
+        gems.put(RaidType.FIRE, CobblemonItems.FIRE_GEM.getDefaultInstance());
+        gems.put(RaidType.WATER, CobblemonItems.WATER_GEM.getDefaultInstance());
+        gems.put(RaidType.GRASS, CobblemonItems.GRASS_GEM.getDefaultInstance());
+        gems.put(RaidType.ELECTRIC, CobblemonItems.ELECTRIC_GEM.getDefaultInstance());
+        gems.put(RaidType.PSYCHIC, CobblemonItems.PSYCHIC_GEM.getDefaultInstance());
+        gems.put(RaidType.ICE, CobblemonItems.ICE_GEM.getDefaultInstance());
+        gems.put(RaidType.DRAGON, CobblemonItems.DRAGON_GEM.getDefaultInstance());
+        gems.put(RaidType.DARK, CobblemonItems.DARK_GEM.getDefaultInstance());
+        gems.put(RaidType.FAIRY, CobblemonItems.FAIRY_GEM.getDefaultInstance());
+
+        GEMS = Collections.unmodifiableMap(gems);
+        RANDOM_GEMS = gems.values().toArray(new ItemStack[0]);
+
+        if (ModCompat.MEGA_SHOWDOWN.isLoaded()) {
+            TERA_SHARDS = Collections.unmodifiableMap(RaidDensMSDCompat.createTeraShards());
+            MAX_MUSHROOM = RaidDensMSDCompat.getMaxMushroom();
+        }
+        else {
+            TERA_SHARDS = Map.of();
+            MAX_MUSHROOM = ItemStack.EMPTY;
+        }
+
+        RESOLVED = true;
+    }
+
+    private static void ensureResolved() {
+        if (!RESOLVED) resolve();
+    }
+
+    public static ItemStack getGem(RaidType raidType, RandomSource random) {
+        ensureResolved();
+        ItemStack prototype = GEMS.get(raidType);
+        if (prototype == null) prototype = RANDOM_GEMS[random.nextInt(RANDOM_GEMS.length)];
+        return prototype.copy();
+    }
+
+    public static ItemStack getTeraShard(RaidType raidType, int count) {
+        ensureResolved();
+        ItemStack prototype = TERA_SHARDS.get(raidType);
+        if (prototype == null) prototype = TERA_SHARDS.getOrDefault(RaidType.NORMAL, ItemStack.EMPTY);
+        return prototype.copyWithCount(count);
+    }
+
+    public static ItemStack getMaxMushroom(int count) {
+        ensureResolved();
+        return MAX_MUSHROOM.copyWithCount(count);
+    }
+}
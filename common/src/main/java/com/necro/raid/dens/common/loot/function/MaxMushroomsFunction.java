@@ -3,9 +3,9 @@ package com.necro.raid.dens.common.loot.function;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.necro.raid.dens.common.compat.ModCompat;
-import com.necro.raid.dens.common.compat.megashowdown.RaidDensMSDCompat;
 import com.necro.raid.dens.common.components.ModComponents;
 import com.necro.raid.dens.common.loot.LootFunctions;
+import com.necro.raid.dens.common.loot.LootItemPrototypes;
 import com.necro.raid.dens.common.raids.RaidTier;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
@@ -56,9 +56,7 @@ public class MaxMushroomsFunction extends LootItemConditionalFunction {
             default -> 3;
         };
         if (count == 0) return itemStack;
-        itemStack = RaidDensMSDCompat.getMaxMushroom();
-        itemStack.setCount(count);
-        return itemStack;
+        return LootItemPrototypes.getMaxMushroom(count);
     }
 
     public static LootItemConditionalFunction.Builder<?> apply() {
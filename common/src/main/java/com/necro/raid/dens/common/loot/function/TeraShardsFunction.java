@@ -3,9 +3,9 @@ package com.necro.raid.dens.common.loot.function;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.necro.raid.dens.common.compat.ModCompat;
-import com.necro.raid.dens.common.compat.megashowdown.RaidDensMSDCompat;
 import com.necro.raid.dens.common.components.ModComponents;
 import com.necro.raid.dens.common.loot.LootFunctions;
+import com.necro.raid.dens.common.loot.LootItemPrototypes;
 import com.necro.raid.dens.common.raids.RaidTier;
 import com.necro.raid.dens.common.raids.RaidType;
 import net.minecraft.world.entity.Entity;
@@ -64,9 +64,7 @@ public class TeraShardsFunction extends LootItemConditionalFunction {
             default -> 30;
         };
         if (count == 0) return itemStack;
-        itemStack = RaidDensMSDCompat.getTeraShard(raidType);
-        itemStack.setCount(count);
-        return itemStack;
+        return LootItemPrototypes.getTeraShard(raidType, count);
     }
 
     public static LootItemConditionalFunction.Builder<?> apply() {
@@ -2,6 +2,7 @@ package com.necro.raid.dens.common.mixins.raid;
 
 import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
 import com.cobblemon.mod.common.battles.runner.ShowdownService;
+import com.necro.raid.dens.common.raids.RaidEvent;
 import com.necro.raid.dens.common.raids.RaidInstance;
 import com.necro.raid.dens.common.util.IRaidBattle;
 import org.spongepowered.asm.mixin.Mixin;
@@ -11,9 +12,9 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.BiConsumer;
 
 @Mixin(PokemonBattle.class)
@@ -34,7 +35,10 @@ public abstract class PokemonBattleMixin implements IRaidBattle {
     private boolean queueTera;
 
     @Unique
-    private List<BiConsumer<RaidInstance, PokemonBattle>> instructionQueue = new ArrayList<>();
+    private String bossSlot;
+
+    @Unique
+    private Queue<BiConsumer<RaidInstance, PokemonBattle>> instructionQueue = new ConcurrentLinkedQueue<>();
 
     @Override
     public boolean isRaidBattle() {
@@ -51,6 +55,16 @@ public abstract class PokemonBattleMixin implements IRaidBattle {
         this.raidInstance = raidInstance;
     }
 
+    @Override
+    public String getBossSlot() {
+        return this.bossSlot;
+    }
+
+    @Override
+    public void setBossSlot(String bossSlot) {
+        this.bossSlot = bossSlot;
+    }
+
     @Override
     public void addToQueue(BiConsumer<RaidInstance, PokemonBattle> instruction) {
         this.instructionQueue.add(instruction);
@@ -60,10 +74,9 @@ public abstract class PokemonBattleMixin implements IRaidBattle {
     private void turnInject(int newTurnNumber, CallbackInfo ci) {
         if (!this.isRaidBattle()) return;
 
-        if (!this.instructionQueue.isEmpty()) {
-            this.instructionQueue.removeFirst().accept(this.raidInstance, (PokemonBattle) (Object) this);
-        }
-        this.raidInstance.runScriptByTurn((PokemonBattle) (Object) this, newTurnNumber);
+        BiConsumer<RaidInstance, PokemonBattle> instruction = this.instructionQueue.poll();
+        if (instruction != null) instruction.accept(this.raidInstance, (PokemonBattle) (Object) this);
+        this.raidInstance.post(new RaidEvent.TurnStarted((PokemonBattle) (Object) this, newTurnNumber));
     }
 
     @Inject(method = "writeShowdownAction", at = @At("HEAD"), remap = false, cancellable = true)
@@ -2,14 +2,12 @@ package com.necro.raid.dens.common.mixins.showdown;
 
 import com.cobblemon.mod.common.api.battles.interpreter.BattleMessage;
 import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
-import com.cobblemon.mod.common.api.battles.model.actor.BattleActor;
 import com.cobblemon.mod.common.battles.dispatch.ActionEffectInstruction;
 import com.cobblemon.mod.common.battles.dispatch.InstructionSet;
 import com.cobblemon.mod.common.battles.interpreter.instructions.DamageInstruction;
-import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
-import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.necro.raid.dens.common.raids.RaidEvent;
 import com.necro.raid.dens.common.raids.RaidInstance;
-import com.necro.raid.dens.common.util.IRaidAccessor;
+import com.necro.raid.dens.common.showdown.HpCondition;
 import com.necro.raid.dens.common.util.IRaidBattle;
 import net.minecraft.server.level.ServerPlayer;
 import org.spongepowered.asm.mixin.Final;
@@ -33,10 +31,6 @@ public abstract class DamageInstructionMixin implements ActionEffectInstruction
     @Shadow(remap = false)
     private InstructionSet instructionSet;
 
-    @Final
-    @Shadow(remap = false)
-    private BattleActor actor;
-
     /**
      * Intercept damage to track raid progress.
      * IMPORTANT: We do NOT cancel the original instruction - let Cobblemon process normally
@@ -48,39 +42,27 @@ public abstract class DamageInstructionMixin implements ActionEffectInstruction
     private void postActionEffectInject(PokemonBattle battle, CallbackInfo ci) {
         if (!((IRaidBattle) battle).isRaidBattle()) return;
         RaidInstance raidInstance = ((IRaidBattle) battle).getRaidBattle();
-        BattlePokemon battlePokemon = this.publicMessage.battlePokemon(0, this.actor.battle);
-        if (battlePokemon == null || battlePokemon.getEntity() == null) return;
-        else if (!((IRaidAccessor) battlePokemon.getEntity()).isRaidBoss()) return;
+        if (!IRaidBattle.isBossSlot(battle, this.publicMessage)) return;
 
-        String args = this.privateMessage.argumentAt(1);
-        if (args == null) return;
+        String condition = this.privateMessage.argumentAt(1);
+        if (condition == null) return;
         
-        String newHealth = args.split(" ")[0];
-        boolean causedFaint = newHealth.equals("0");
+        boolean causedFaint = HpCondition.isFainted(condition);
 
         ServerPlayer player = battle.getPlayers().getFirst();
-        PokemonEntity bossEntity = battlePokemon.getEntity();
         
         if (causedFaint) {
             // Player defeated the Pokemon in this battle
-            // Apply full Pokemon HP as damage to the Boss HP bar (center)
-            raidInstance.applyBattleDamage(player, raidInstance.getInitMaxHealth());
-            
-            // CRITICAL: Restore the boss entity's HP IMMEDIATELY to prevent death
-            // The boss entity is visual-only, it should never actually die from battles
-            if (bossEntity != null) {
-                bossEntity.setHealth(bossEntity.getMaxHealth());
-                bossEntity.getPokemon().setCurrentHealth(bossEntity.getPokemon().getMaxHealth());
-            }
-            
-            // Remove battle and reset tracking - allows the battle to close properly
-            raidInstance.onPlayerBattleWin(player, battle);
+            // Apply full Pokemon HP as damage to the Boss HP bar (center) on the raid's next tick
+            // The boss entity can't die in the meantime, LivingEntityMixin blocks it until the raid allows it
+            raidInstance.post(new RaidEvent.BossFainted(player, battle));
         }
         else {
             // During battle: just track current HP for potential flee/loss calculation
             // The Pokemon HP bar (right side) is updated normally by Cobblemon
-            float remainingHealth = Float.parseFloat(newHealth.split("/")[0]);
-            raidInstance.trackBattleHp(player, remainingHealth);
+            float remainingHealth = HpCondition.current(condition);
+            if (remainingHealth == HpCondition.INVALID) return;
+            raidInstance.post(new RaidEvent.BattleHp(player, remainingHealth));
         }
     }
 }
@@ -5,7 +5,7 @@ import com.cobblemon.mod.common.api.moves.MoveTemplate;
 import com.cobblemon.mod.common.battles.dispatch.InterpreterInstruction;
 import com.cobblemon.mod.common.battles.interpreter.instructions.MoveInstruction;
 import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
-import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import com.necro.raid.dens.common.raids.RaidEvent;
 import com.necro.raid.dens.common.raids.RaidInstance;
 import com.necro.raid.dens.common.util.IRaidAccessor;
 import com.necro.raid.dens.common.util.IRaidBattle;
@@ -46,13 +46,7 @@ public abstract class MoveInstructionMixin implements InterpreterInstruction {
             ComponentContents pokemonContents = this.userPokemon.getEffectedPokemon().getDisplayName(false).getContents();
             ComponentContents moveContents = this.move.getDisplayName().getContents();
 
-            raid.getPlayers().forEach(p ->
-                RaidDenNetworkMessages.RAID_LOG.accept(
-                    p,
-                    this.resolveContents(pokemonContents),
-                    this.resolveContents(moveContents)
-                )
-            );
+            raid.post(new RaidEvent.MoveUsed(this.resolveContents(pokemonContents), this.resolveContents(moveContents)));
             return Unit.INSTANCE;
         });
     }
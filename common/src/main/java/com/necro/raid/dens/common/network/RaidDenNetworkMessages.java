@@ -2,22 +2,27 @@ package com.necro.raid.dens.common.network;
 
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.necro.raid.dens.common.network.packets.RaidLogPacket;
+import com.necro.raid.dens.common.network.packets.SyncHealthPacket;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import org.apache.logging.log4j.util.TriConsumer;
 
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public class RaidDenNetworkMessages {
-    public static BiConsumer<ServerPlayer, Float> SYNC_HEALTH;
+    public static BiConsumer<ServerPlayer, SyncHealthPacket> SYNC_HEALTH;
     public static BiConsumer<ServerPlayer, Boolean> JOIN_RAID;
     public static BiConsumer<ServerPlayer, String> REQUEST_PACKET;
     public static TriConsumer<ServerPlayer, Boolean, String> REWARD_PACKET;
     public static TriConsumer<ServerLevel, Entity, Float> RESIZE;
     public static BiConsumer<ServerPlayer, Entity> RAID_ASPECT;
-    public static TriConsumer<ServerPlayer, String, String> RAID_LOG;
+    public static BiConsumer<ServerPlayer, RaidLogPacket> RAID_LOG;
+    public static BiConsumer<Collection<ServerPlayer>, CustomPacketPayload> MULTICAST;
 
     public static BiConsumer<PokemonEntity, Pokemon> RAID_CHALLENGE;
     public static Runnable LEAVE_RAID;
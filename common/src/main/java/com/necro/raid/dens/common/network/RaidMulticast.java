@@ -0,0 +1,46 @@
+package com.necro.raid.dens.common.network;
+
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The broadcast group of one raid. Payloads sent to the group are wrapped into a single packet that is handed to
+ * every member's connection, rather than building a packet per player.
+ */
+public class RaidMulticast {
+    private final Set<ServerPlayer> members;
+
+    public RaidMulticast() {
+        this.members = new LinkedHashSet<>();
+    }
+
+    public boolean add(ServerPlayer player) {
+        return this.members.add(player);
+    }
+
+    public boolean remove(ServerPlayer player) {
+        return this.members.remove(player);
+    }
+
+    public void clear() {
+        this.members.clear();
+    }
+
+    public int size() {
+        return this.members.size();
+    }
+
+    public Collection<ServerPlayer> getMembers() {
+        return Collections.unmodifiableSet(this.members);
+    }
+
+    public void send(CustomPacketPayload payload) {
+        if (this.members.isEmpty()) return;
+        RaidDenNetworkMessages.MULTICAST.accept(this.members, payload);
+    }
+}
@@ -1,6 +1,7 @@
 package com.necro.raid.dens.common.network.packets;
 
 import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.client.ClientManager;
 import com.necro.raid.dens.common.client.gui.RaidDenGuiManager;
 import com.necro.raid.dens.common.client.gui.screens.RaidOverlay;
 import com.necro.raid.dens.common.network.ClientPacket;
@@ -30,6 +31,7 @@ public record JoinRaidPacket(boolean isJoining) implements CustomPacketPayload,
 
     @Override
     public void handleClient() {
+        ClientManager.resetBossHealth();
         if (this.isJoining) RaidDenGuiManager.RAID_OVERLAY = new RaidOverlay();
         else RaidDenGuiManager.RAID_OVERLAY = null;
     }
@@ -19,6 +19,7 @@ import com.necro.raid.dens.common.raids.RaidBoss;
 import com.necro.raid.dens.common.raids.RaidBuilder;
 import com.necro.raid.dens.common.raids.RaidHelper;
 import com.necro.raid.dens.common.raids.RaidInstance;
+import com.necro.raid.dens.common.raids.SharedHealthRaid;
 import com.necro.raid.dens.common.util.IHealthSetter;
 import com.necro.raid.dens.common.util.IRaidAccessor;
 import com.necro.raid.dens.common.util.RaidUtils;
@@ -87,7 +88,7 @@ public record RaidChallengePacket(int targetedEntityId, UUID selectedPokemonId,
             
             // Only check lobby capacity for NEW players joining the raid
             // Players already in the raid (activePlayers) can freely start new battles
-            boolean isAlreadyInRaid = raid.getPlayers().contains(player);
+            boolean isAlreadyInRaid = raid.hasPlayer(player);
             if (!isAlreadyInRaid && raid.getPlayers().size() >= tierConfig.maxPlayers()) {
                 player.sendSystemMessage(Component.translatable("message.cobblemonraiddens.raid.lobby_is_full").withStyle(ChatFormatting.RED));
                 return;
@@ -112,10 +113,11 @@ public record RaidChallengePacket(int targetedEntityId, UUID selectedPokemonId,
         UUID leadingPokemon = pokemon.getUuid();
 
         if (PlayerExtensionsKt.canInteractWith(player, pokemonEntity, Cobblemon.config.getBattleWildMaxDistance() * 4.0f) && pokemonEntity.canBattle(player)) {
-            // Remove player from any previous raids to avoid duplicate boss bars
-            for (RaidInstance existingRaid : RaidHelper.ACTIVE_RAIDS.values()) {
-                existingRaid.removePlayer(player);
-            }
+            // Remove player from their previous raid to avoid duplicate boss bars
+            UUID currentRaid = SharedHealthRaid.MEMBERSHIP.getRaid(player.getUUID());
+            RaidInstance existingRaid = currentRaid == null ? null : RaidHelper.ACTIVE_RAIDS.get(currentRaid);
+            if (existingRaid == raid && raid != null) existingRaid.removePlayer(player);
+            else if (existingRaid != null) existingRaid.removePlayerCompletely(player);
             
             // Clear any modified HP buffer BEFORE battle starts so battle uses normal Pokemon HP
             ((IHealthSetter) pokemonEntity.getPokemon()).clearMaxHealthBuffer();
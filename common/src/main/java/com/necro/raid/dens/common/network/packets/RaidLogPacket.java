@@ -10,18 +10,36 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 
-public record RaidLogPacket(String pokemon, String move) implements CustomPacketPayload, ClientPacket {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One tick of raid log entries. Pokemon and move keys are sent once per raid as additions to a string table, and
+ * each entry is a pair of varint indices into that table.
+ */
+public record RaidLogPacket(boolean reset, List<String> strings, int[] entries) implements CustomPacketPayload, ClientPacket {
     public static final ResourceLocation ID = ResourceLocation.fromNamespaceAndPath(CobblemonRaidDens.MOD_ID, "raid_log");
     public static final Type<RaidLogPacket> PACKET_TYPE = new Type<>(ID);
     public static final StreamCodec<FriendlyByteBuf, RaidLogPacket> CODEC = StreamCodec.ofMember(RaidLogPacket::write, RaidLogPacket::read);
 
+    private static final List<String> STRING_TABLE = new ArrayList<>();
+
     public void write(FriendlyByteBuf buf) {
-        buf.writeUtf(this.pokemon);
-        buf.writeUtf(this.move);
+        buf.writeBoolean(this.reset);
+        buf.writeVarInt(this.strings.size());
+        for (String s : this.strings) buf.writeUtf(s);
+        buf.writeVarInt(this.entries.length);
+        for (int entry : this.entries) buf.writeVarInt(entry);
     }
 
     public static RaidLogPacket read(FriendlyByteBuf buf) {
-        return new RaidLogPacket(buf.readUtf(), buf.readUtf());
+        boolean reset = buf.readBoolean();
+        int stringCount = buf.readVarInt();
+        List<String> strings = new ArrayList<>(stringCount);
+        for (int i = 0; i < stringCount; i++) strings.add(buf.readUtf());
+        int[] entries = new int[buf.readVarInt()];
+        for (int i = 0; i < entries.length; i++) entries[i] = buf.readVarInt();
+        return new RaidLogPacket(reset, strings, entries);
     }
 
     @Override
@@ -31,13 +49,21 @@ public record RaidLogPacket(String pokemon, String move) implements CustomPacket
 
     @Override
     public void handleClient() {
+        if (this.reset) STRING_TABLE.clear();
+        STRING_TABLE.addAll(this.strings);
         if (RaidDenGuiManager.RAID_OVERLAY == null) return;
 
-        Component log = Component.translatable(
-            "battle.cobblemonraiddens.log.used_move",
-            Component.translatable(this.pokemon),
-            Component.translatable(this.move)
-        );
-        RaidDenGuiManager.RAID_OVERLAY.addLog(log);
+        for (int i = 0; i + 1 < this.entries.length; i += 2) {
+            int pokemon = this.entries[i];
+            int move = this.entries[i + 1];
+            if (pokemon >= STRING_TABLE.size() || move >= STRING_TABLE.size()) continue;
+
+            Component log = Component.translatable(
+                "battle.cobblemonraiddens.log.used_move",
+                Component.translatable(STRING_TABLE.get(pokemon)),
+                Component.translatable(STRING_TABLE.get(move))
+            );
+            RaidDenGuiManager.RAID_OVERLAY.addLog(log);
+        }
     }
 }
@@ -37,22 +37,15 @@ public record RewardResponsePacket(boolean catchPokemon) implements CustomPacket
             return;
         }
 
-        if (this.catchPokemon) this.getPokemon(handler, player);
-        else this.getItems(handler, player);
-        handler.giveCurrency();
-    }
-
-    private void getPokemon(RewardHandler handler, ServerPlayer player) {
-        if (handler.givePokemonToPlayer()) {
+        // Currency is only given with a successful claim, so it can't be collected twice
+        if (this.catchPokemon) {
+            if (!handler.givePokemonToPlayer()) return;
             player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.reward.reward_pokemon"));
-            RaidHelper.REWARD_QUEUE.remove(player.getUUID());
         }
-    }
-
-    private void getItems(RewardHandler handler, ServerPlayer player) {
-        if (handler.giveItemToPlayer()) {
+        else {
+            if (!handler.giveItemToPlayer()) return;
             player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.reward.reward_item"));
-            RaidHelper.REWARD_QUEUE.remove(player.getUUID());
         }
+        handler.giveCurrency();
     }
 }
@@ -9,17 +9,27 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 
-public record SyncHealthPacket(float healthRatio) implements CustomPacketPayload, ClientPacket {
+/**
+ * A boss health keyframe. {@code gameTime} is the server game time the ratio was sampled at, or -1 if unstamped, and
+ * {@code rate} is the recent change in ratio per tick that the client may extrapolate with until the next keyframe.
+ */
+public record SyncHealthPacket(float healthRatio, long gameTime, float rate) implements CustomPacketPayload, ClientPacket {
     public static final ResourceLocation ID = ResourceLocation.fromNamespaceAndPath(CobblemonRaidDens.MOD_ID, "sync_health");
     public static final Type<SyncHealthPacket> PACKET_TYPE = new Type<>(ID);
     public static final StreamCodec<FriendlyByteBuf, SyncHealthPacket> CODEC = StreamCodec.ofMember(SyncHealthPacket::write, SyncHealthPacket::read);
 
+    public SyncHealthPacket(float healthRatio) {
+        this(healthRatio, -1L, 0.0f);
+    }
+
     public void write(FriendlyByteBuf buf) {
         buf.writeFloat(this.healthRatio);
+        buf.writeVarLong(this.gameTime + 1);
+        buf.writeFloat(this.rate);
     }
 
     public static SyncHealthPacket read(FriendlyByteBuf buf) {
-        return new SyncHealthPacket(buf.readFloat());
+        return new SyncHealthPacket(buf.readFloat(), buf.readVarLong() - 1, buf.readFloat());
     }
 
     @Override
@@ -33,6 +43,6 @@ public record SyncHealthPacket(float healthRatio) implements CustomPacketPayload
         // We do NOT sync the Pokemon battle HP bar (right side Cobblemon UI)
         // The Pokemon battle HP should behave normally during battle
         // This packet only updates the boss bar, not the Pokemon's battle HP
-        ClientManager.syncBossHealthRatio(this.healthRatio);
+        ClientManager.syncBossHealthRatio(this.healthRatio, this.gameTime, this.rate);
     }
 }
@@ -0,0 +1,38 @@
+package com.necro.raid.dens.common.raids;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.level.ServerBossEvent;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The boss bar title of one raid: the boss name followed by the timer and an optional mode suffix. Both suffixes are
+ * shared, pre-built components, so the title is only rebuilt and sent when one of them is a different instance from
+ * the last update.
+ */
+public class BossBarTitle {
+    private final Component bossName;
+    private Component timeSuffix;
+    private Component modeSuffix;
+
+    public BossBarTitle(Component bossName) {
+        this.bossName = bossName;
+        this.timeSuffix = null;
+        this.modeSuffix = null;
+    }
+
+    /**
+     * Sets the title on the boss bar if either suffix changed. Returns whether the title was rebuilt.
+     */
+    public boolean update(ServerBossEvent bossEvent, Component timeSuffix, @Nullable Component modeSuffix) {
+        if (timeSuffix == this.timeSuffix && modeSuffix == this.modeSuffix) return false;
+        this.timeSuffix = timeSuffix;
+        this.modeSuffix = modeSuffix;
+
+        MutableComponent title = Component.empty().append(this.bossName).append(timeSuffix);
+        if (modeSuffix != null) title.append(modeSuffix);
+        bossEvent.setName(title.withStyle(ChatFormatting.BOLD));
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package com.necro.raid.dens.common.raids;
 
 import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import com.necro.raid.dens.common.network.packets.SyncHealthPacket;
+import com.necro.raid.dens.common.util.RaidTimeFormat;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -65,7 +67,7 @@ public class BossHealth {
             this.trackedPlayers.add(player);
             this.bossEvent.addPlayer(player);
             // Sync current boss HP ratio to new player
-            RaidDenNetworkMessages.SYNC_HEALTH.accept(player, getHealthRatio());
+            RaidDenNetworkMessages.SYNC_HEALTH.accept(player, new SyncHealthPacket(getHealthRatio()));
         }
     }
     
@@ -104,12 +106,8 @@ public class BossHealth {
      * Update the boss bar name with time remaining.
      */
     public void updateWithTime(int remainingSeconds) {
-        int minutes = remainingSeconds / 60;
-        int seconds = remainingSeconds % 60;
-        String timeStr = String.format("%d:%02d", minutes, seconds);
-        
         MutableComponent name = Component.literal(this.bossName)
-            .append(Component.literal(" - " + timeStr).withStyle(ChatFormatting.AQUA))
+            .append(RaidTimeFormat.getSuffix(remainingSeconds))
             .withStyle(ChatFormatting.BOLD);
         
         this.bossEvent.setName(name);
@@ -129,7 +127,7 @@ public class BossHealth {
     private void syncToAllPlayers() {
         float ratio = getHealthRatio();
         for (ServerPlayer player : this.trackedPlayers) {
-            RaidDenNetworkMessages.SYNC_HEALTH.accept(player, ratio);
+            RaidDenNetworkMessages.SYNC_HEALTH.accept(player, new SyncHealthPacket(ratio));
         }
     }
     
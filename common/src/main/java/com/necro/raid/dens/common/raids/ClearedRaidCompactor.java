@@ -0,0 +1,175 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drops cleared raid records that can no longer matter, a few dens at a time on ticks with time to spare. A record
+ * is stale when its den has passed its reset time since the clears were recorded (the den wipes them on its next
+ * tick anyway), when its dimension no longer exists, or when its chunk is loaded and the den is not there anymore.
+ * Unloaded chunks are never loaded to check. Records saved before dens stored their location take it from the
+ * {@link DenIndex} once their den is indexed, and are left alone until then.
+ */
+public class ClearedRaidCompactor {
+    private static final int SLICE_SIZE = 32;
+    private static final long IDLE_TICK_NANOS = 25_000_000L;
+    private static final int PASS_INTERVAL = 6000;
+
+    private static int SHARD = 0;
+    private static UUID[] DENS = null;
+    private static int CURSOR = 0;
+    private static int COOLDOWN = 0;
+    private static Map<UUID, ClearedRaidShard.DenLocation> INDEXED = null;
+
+    private static int PASS_RECORDS = 0;
+    private static long PASS_BYTES = 0;
+    private static int LAST_RECORDS = 0;
+    private static long LAST_BYTES = 0;
+    private static long TOTAL_BYTES = 0;
+
+    public static void tick(MinecraftServer server) {
+        if (COOLDOWN > 0) {
+            COOLDOWN--;
+            return;
+        }
+        else if (RaidHelper.INSTANCE == null) return;
+        else if (server.getAverageTickTimeNanos() > IDLE_TICK_NANOS) return;
+        runSlice(server, SLICE_SIZE);
+    }
+
+    /**
+     * Restarts and finishes a whole pass now, for the admin command.
+     */
+    public static void compactNow(MinecraftServer server) {
+        SHARD = 0;
+        DENS = null;
+        PASS_RECORDS = 0;
+        PASS_BYTES = 0;
+        INDEXED = null;
+        runSlice(server, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks up to {@code budget} dens, counting each shard looked up as one. Returns true if the pass finished.
+     */
+    private static boolean runSlice(MinecraftServer server, int budget) {
+        while (budget > 0) {
+            if (SHARD >= ClearedRaidShard.SHARD_COUNT) {
+                finishPass();
+                return true;
+            }
+
+            ClearedRaidShard shard = RaidHelper.getClearedRaidShard(SHARD);
+            if (DENS == null) {
+                budget--;
+                if (shard == null || shard.size() == 0) {
+                    SHARD++;
+                    continue;
+                }
+                DENS = shard.getDens();
+                CURSOR = 0;
+            }
+
+            while (budget > 0 && CURSOR < DENS.length) {
+                compact(server, shard, DENS[CURSOR++]);
+                budget--;
+            }
+            if (CURSOR >= DENS.length) {
+                DENS = null;
+                SHARD++;
+            }
+        }
+        return false;
+    }
+
+    private static void compact(MinecraftServer server, ClearedRaidShard shard, UUID den) {
+        ClearedRaidShard.DenRecord record = shard.getRecord(den);
+        if (record == null) return;
+
+        ClearedRaidShard.DenLocation location = record.getLocation();
+        if (location == null) {
+            location = getIndexed(server).get(den);
+            if (location != null) shard.setLocation(den, location);
+        }
+        if (!isStale(server, den, location)) return;
+        PASS_RECORDS++;
+        PASS_BYTES += record.getEncodedSize();
+        shard.reset(den);
+    }
+
+    private static boolean isStale(MinecraftServer server, UUID den, @Nullable ClearedRaidShard.DenLocation location) {
+        if (location == null) return false;
+
+        int resetTime = CobblemonRaidDens.CONFIG.reset_time;
+        if (location.canReset() && resetTime > 0 && server.overworld().getGameTime() - location.generation() > resetTime * 20L) return true;
+
+        ServerLevel level = server.getLevel(ResourceKey.create(Registries.DIMENSION, location.dimension()));
+        if (level == null) return true;
+
+        BlockPos pos = BlockPos.of(location.pos());
+        if (!level.isLoaded(pos)) return false;
+        return !(level.getBlockEntity(pos) instanceof RaidCrystalBlockEntity blockEntity) || !den.equals(blockEntity.getUuid());
+    }
+
+    /**
+     * Where every indexed den is, read from the index once per pass and only if a record needs it.
+     */
+    private static Map<UUID, ClearedRaidShard.DenLocation> getIndexed(MinecraftServer server) {
+        if (INDEXED != null) return INDEXED;
+        INDEXED = new HashMap<>();
+        for (ServerLevel level : server.getAllLevels()) {
+            DenIndex.forEachRegion(level.dimension(), (key, region) -> region.forEach(entry -> INDEXED.put(
+                entry.den(), new ClearedRaidShard.DenLocation(level.dimension().location(), entry.pos(), entry.lastReset(), entry.canReset())
+            )));
+        }
+        return INDEXED;
+    }
+
+    private static void finishPass() {
+        LAST_RECORDS = PASS_RECORDS;
+        LAST_BYTES = PASS_BYTES;
+        TOTAL_BYTES += PASS_BYTES;
+        if (PASS_RECORDS > 0) {
+            CobblemonRaidDens.LOGGER.info("Compacted {} stale cleared raid records, reclaiming about {} bytes", PASS_RECORDS, PASS_BYTES);
+        }
+
+        SHARD = 0;
+        DENS = null;
+        PASS_RECORDS = 0;
+        PASS_BYTES = 0;
+        INDEXED = null;
+        COOLDOWN = PASS_INTERVAL;
+    }
+
+    public static int getLastRecords() {
+        return LAST_RECORDS;
+    }
+
+    public static long getLastBytes() {
+        return LAST_BYTES;
+    }
+
+    public static long getTotalBytes() {
+        return TOTAL_BYTES;
+    }
+
+    public static void clear() {
+        SHARD = 0;
+        DENS = null;
+        CURSOR = 0;
+        COOLDOWN = 0;
+        PASS_RECORDS = 0;
+        PASS_BYTES = 0;
+        INDEXED = null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.util.collections.UuidMap;
+import com.necro.raid.dens.common.util.collections.UuidSet;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * One shard of the cleared raid records: the players that have cleared each den whose UUID hashes to this shard.
+ * Every shard is its own data file, so an autosave only rewrites the shards that changed, and a shard is only read
+ * from disk once one of its dens is first looked up. UUIDs are stored as pairs of longs, both in memory and on disk.
+ * <p>
+ * Each den also records where it is and which reset generation the clears belong to, so
+ * {@link ClearedRaidCompactor} can drop records for dens that are gone or have since reset.
+ */
+public class ClearedRaidShard extends SavedData {
+    public static final int SHARD_COUNT = 64;
+    private static final int VERSION = 2;
+
+    private final UuidMap<DenRecord> clearedRaids;
+
+    public ClearedRaidShard() {
+        this.clearedRaids = new UuidMap<>();
+    }
+
+    public boolean hasCleared(UUID den, UUID player) {
+        DenRecord record = this.clearedRaids.get(den);
+        return record != null && record.players.contains(player);
+    }
+
+    public void addClears(UUID den, Collection<UUID> players, @Nullable DenLocation location) {
+        if (players.isEmpty()) return;
+        DenRecord record = this.clearedRaids.computeIfAbsent(den, uuid -> new DenRecord());
+        record.players.addAll(players);
+        if (location != null) record.location = location;
+        this.setDirty();
+    }
+
+    /**
+     * Gives a record saved without a location the one its den was found at.
+     */
+    public void setLocation(UUID den, DenLocation location) {
+        DenRecord record = this.clearedRaids.get(den);
+        if (record == null || record.location != null) return;
+        record.location = location;
+        this.setDirty();
+    }
+
+    public void reset(UUID den) {
+        if (this.clearedRaids.remove(den) != null) this.setDirty();
+    }
+
+    public void reset(UUID den, UUID player) {
+        DenRecord record = this.clearedRaids.get(den);
+        if (record != null && record.players.remove(player)) this.setDirty();
+    }
+
+    public void resetPlayer(UUID player) {
+        this.clearedRaids.forEach((den, record) -> {
+            if (record.players.remove(player)) this.setDirty();
+        });
+    }
+
+    public int size() {
+        return this.clearedRaids.size();
+    }
+
+    public UUID[] getDens() {
+        return this.clearedRaids.keysToArray();
+    }
+
+    public @Nullable DenRecord getRecord(UUID den) {
+        return this.clearedRaids.get(den);
+    }
+
+    public static int getShard(UUID den) {
+        long hash = den.getMostSignificantBits() ^ den.getLeastSignificantBits();
+        return (int) (hash ^ (hash >>> 32)) & (SHARD_COUNT - 1);
+    }
+
+    public static String getName(int shard) {
+        return String.format("%s_cleared_%02x", CobblemonRaidDens.MOD_ID, shard);
+    }
+
+    public static ClearedRaidShard load(CompoundTag compoundTag, HolderLookup.Provider provider) {
+        ClearedRaidShard shard = new ClearedRaidShard();
+        ListTag dens = compoundTag.getList("dens", Tag.TAG_COMPOUND);
+        for (Tag t : dens) {
+            CompoundTag entry = (CompoundTag) t;
+            long[] den = entry.getLongArray("den");
+            if (den.length != 2) continue;
+
+            DenRecord record = new DenRecord();
+            record.players.addAll(entry.getLongArray("players"));
+            if (entry.contains("dimension")) {
+                ResourceLocation dimension = ResourceLocation.tryParse(entry.getString("dimension"));
+                if (dimension != null) record.location = new DenLocation(
+                    dimension, entry.getLong("pos"), entry.getLong("generation"), entry.getBoolean("can_reset")
+                );
+            }
+            shard.clearedRaids.put(new UUID(den[0], den[1]), record);
+        }
+        return shard;
+    }
+
+    @Override
+    public @NotNull CompoundTag save(CompoundTag compoundTag, HolderLookup.Provider provider) {
+        compoundTag.putInt("version", VERSION);
+        ListTag dens = new ListTag();
+        this.clearedRaids.forEach((den, record) -> {
+            if (record.players.isEmpty()) return;
+            CompoundTag e = new CompoundTag();
+            e.put("den", new LongArrayTag(new long[]{den.getMostSignificantBits(), den.getLeastSignificantBits()}));
+            e.put("players", new LongArrayTag(record.players.toLongArray()));
+            if (record.location != null) {
+                e.putString("dimension", record.location.dimension().toString());
+                e.putLong("pos", record.location.pos());
+                e.putLong("generation", record.location.generation());
+                e.putBoolean("can_reset", record.location.canReset());
+            }
+            dens.add(e);
+        });
+        compoundTag.put("dens", dens);
+        return compoundTag;
+    }
+
+    public static Factory<ClearedRaidShard> type() {
+        return new Factory<>(
+            ClearedRaidShard::new,
+            ClearedRaidShard::load,
+            null
+        );
+    }
+
+    public static class DenRecord {
+        private final UuidSet players;
+        private DenLocation location;
+
+        private DenRecord() {
+            this.players = new UuidSet();
+            this.location = null;
+        }
+
+        public int getPlayerCount() {
+            return this.players.size();
+        }
+
+        public @Nullable DenLocation getLocation() {
+            return this.location;
+        }
+
+        /**
+         * Roughly how many bytes this record takes in its shard file.
+         */
+        public int getEncodedSize() {
+            int size = 48 + this.players.size() * 16;
+            if (this.location != null) size += 56 + this.location.dimension().toString().length();
+            return size;
+        }
+    }
+
+    /**
+     * Where a den is and the reset it was at when it was last cleared. {@code generation} is the game time of that
+     * reset.
+     */
+    public record DenLocation(ResourceLocation dimension, long pos, long generation, boolean canReset) {}
+}
@@ -5,8 +5,8 @@ import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.events.RaidEndEvent;
 import com.necro.raid.dens.common.events.RaidEvents;
-import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
 import com.necro.raid.dens.common.util.IRaidAccessor;
+import com.necro.raid.dens.common.util.RaidTimeFormat;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -28,7 +28,7 @@ import java.util.*;
  * - Shared boss HP across all players
  * - Win = reduce boss HP to 0 before time runs out
  */
-public class CoopRaidSession {
+public class CoopRaidSession extends SharedHealthRaid {
     
     // Default raid duration in ticks (10 minutes = 600 seconds = 12000 ticks)
     public static final int DEFAULT_RAID_DURATION_TICKS = 12000;
@@ -37,23 +37,13 @@ public class CoopRaidSession {
     public static final Map<UUID, CoopRaidSession> ACTIVE_COOP_RAIDS = new HashMap<>();
     
     private final UUID raidId;
-    private final PokemonEntity bossEntity;
-    private final RaidBoss raidBoss;
-    private final ServerBossEvent bossEvent;
-    
-    // Participating players
-    private final List<ServerPlayer> participants;
-    private final Map<UUID, Integer> playerDefeats; // Track how many times each player defeated the normal Pokémon
+    private Component hpSuffix;
     
     // Boss HP system
     private final int normalPokemonHp;     // HP of the normal Pokémon players fight (e.g., 100)
     private final int healthMultiplier;     // Multiplier for boss HP (e.g., 8)
-    private int currentBossHp;              // Current boss HP (starts at normalPokemonHp * healthMultiplier)
-    private final int maxBossHp;            // Max boss HP
     
     // Timer system
-    private int remainingTicks;             // Remaining time in ticks
-    private final int totalDurationTicks;   // Total raid duration in ticks
     private boolean raidActive;             // Is the raid currently active
     private boolean raidEnded;              // Has the raid ended (to prevent double processing)
     
@@ -61,40 +51,37 @@ public class CoopRaidSession {
      * Create a new coop raid session with explicit multiplier and duration
      */
     public CoopRaidSession(PokemonEntity bossEntity, RaidBoss raidBoss, int healthMultiplier, int durationTicks) {
-        this.raidId = UUID.randomUUID();
-        this.bossEntity = bossEntity;
-        this.raidBoss = raidBoss != null ? raidBoss : ((IRaidAccessor) bossEntity).getRaidBoss();
-        
-        // Setup boss bar
-        this.bossEvent = new ServerBossEvent(
-            ((MutableComponent) bossEntity.getName())
-                .append(Component.literal(" - RAID"))
-                .withStyle(ChatFormatting.BOLD)
-                .withStyle(ChatFormatting.RED),
-            BossEvent.BossBarColor.RED,
-            BossEvent.BossBarOverlay.NOTCHED_10
+        super(
+            bossEntity, raidBoss != null ? raidBoss : ((IRaidAccessor) bossEntity).getRaidBoss(),
+            // Setup boss bar
+            new ServerBossEvent(
+                ((MutableComponent) bossEntity.getName())
+                    .append(Component.literal(" - RAID"))
+                    .withStyle(ChatFormatting.BOLD)
+                    .withStyle(ChatFormatting.RED),
+                BossEvent.BossBarColor.RED,
+                BossEvent.BossBarOverlay.NOTCHED_10
+            ),
+            durationTicks
         );
-        
-        this.participants = new ArrayList<>();
-        this.playerDefeats = new HashMap<>();
+        this.raidId = UUID.randomUUID();
+        this.hpSuffix = null;
         
         // Calculate HP values
         // The normal Pokémon HP is the base HP before any multiplier
         Pokemon pokemon = bossEntity.getPokemon();
         this.normalPokemonHp = pokemon.getMaxHealth() / healthMultiplier; // Get original HP
         this.healthMultiplier = healthMultiplier;
-        this.maxBossHp = this.normalPokemonHp * healthMultiplier;
-        this.currentBossHp = this.maxBossHp;
+        this.maxHealth = this.normalPokemonHp * healthMultiplier;
+        this.currentHealth = this.maxHealth;
         
-        // Timer setup
-        this.totalDurationTicks = durationTicks;
-        this.remainingTicks = durationTicks;
         this.raidActive = true;
         this.raidEnded = false;
         
         // Register this raid
         ((IRaidAccessor) bossEntity).setCoopRaidSession(this);
         ACTIVE_COOP_RAIDS.put(this.raidId, this);
+        this.register();
     }
     
     /**
@@ -121,11 +108,7 @@ public class CoopRaidSession {
      * Add a player to this coop raid session
      */
     public void addPlayer(ServerPlayer player) {
-        if (!this.participants.contains(player)) {
-            this.participants.add(player);
-            this.playerDefeats.put(player.getUUID(), 0);
-            this.bossEvent.addPlayer(player);
-            
+        if (this.join(player)) {
             // Notify player
             player.sendSystemMessage(Component.translatable("message.cobblemonraiddens.coop_raid.joined")
                 .withStyle(ChatFormatting.GREEN));
@@ -139,8 +122,7 @@ public class CoopRaidSession {
      * Remove a player from the coop raid session
      */
     public void removePlayer(ServerPlayer player) {
-        this.participants.remove(player);
-        this.bossEvent.removePlayer(player);
+        this.leave(player);
     }
     
     /**
@@ -151,97 +133,47 @@ public class CoopRaidSession {
         if (!this.raidActive || this.raidEnded) return;
         
         // Increment player's defeat count
-        int defeats = this.playerDefeats.getOrDefault(player.getUUID(), 0) + 1;
-        this.playerDefeats.put(player.getUUID(), defeats);
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.addDefeat(index);
         
-        // Reduce boss HP
+        // Reduce boss HP; the boss bar updates now and participants are synced on the next tick
         int damageDealt = this.normalPokemonHp;
-        this.currentBossHp = Math.max(0, this.currentBossHp - damageDealt);
-        
-        // Update boss bar
-        float progress = (float) this.currentBossHp / this.maxBossHp;
-        this.bossEvent.setProgress(progress);
-        
-        // Sync health to all participants
-        this.participants.forEach(p -> RaidDenNetworkMessages.SYNC_HEALTH.accept(p, progress));
+        this.setHealth(this.currentHealth - damageDealt);
+        this.hpSuffix = null;
         
         // Broadcast damage message
         Component message = Component.translatable("message.cobblemonraiddens.coop_raid.damage_dealt",
                 player.getName(),
                 damageDealt,
-                this.currentBossHp,
-                this.maxBossHp)
+                this.getCurrentBossHp(),
+                this.getMaxBossHp())
             .withStyle(ChatFormatting.YELLOW);
         broadcastMessage(message);
         
         // Check for victory
-        if (this.currentBossHp <= 0) {
+        if (this.currentHealth <= 0) {
+            this.healthSync.flush(this.multicast, this.getGameTime());
             endRaid(true);
         }
     }
     
-    /**
-     * Called every server tick to update the raid timer
-     */
-    public void tick() {
-        if (!this.raidActive || this.raidEnded) return;
-        
-        this.remainingTicks--;
-        
-        // Update boss bar name with time remaining
-        if (this.remainingTicks % 20 == 0) { // Update every second
-            updateBossBarWithTime();
-        }
-        
-        // Broadcast time warnings at key intervals
-        int remainingSeconds = this.remainingTicks / 20;
-        if (this.remainingTicks % 20 == 0) {
-            if (remainingSeconds == 300 || remainingSeconds == 180 || 
-                remainingSeconds == 60 || remainingSeconds == 30 || 
-                remainingSeconds == 10 || remainingSeconds <= 5 && remainingSeconds > 0) {
-                broadcastTimeWarning(remainingSeconds);
-            }
-        }
-        
-        // Check for timeout
-        if (this.remainingTicks <= 0) {
-            endRaid(false);
-        }
+    @Override
+    protected boolean isTimerRunning() {
+        return this.raidActive && !this.raidEnded;
     }
     
     /**
-     * Update the boss bar to show remaining time
+     * Show the remaining boss HP after the time on the boss bar
      */
-    private void updateBossBarWithTime() {
-        int remainingSeconds = this.remainingTicks / 20;
-        int minutes = remainingSeconds / 60;
-        int seconds = remainingSeconds % 60;
-        
-        String timeStr = String.format("%d:%02d", minutes, seconds);
-        
-        MutableComponent name = ((MutableComponent) this.bossEntity.getName())
-            .append(Component.literal(" - "))
-            .append(Component.literal(timeStr).withStyle(ChatFormatting.AQUA))
-            .append(Component.literal(" - HP: " + this.currentBossHp + "/" + this.maxBossHp))
-            .withStyle(ChatFormatting.BOLD);
-        
-        this.bossEvent.setName(name);
+    @Override
+    protected Component getBossBarSuffix() {
+        if (this.hpSuffix == null) this.hpSuffix = Component.literal(" - HP: " + this.getCurrentBossHp() + "/" + this.getMaxBossHp());
+        return this.hpSuffix;
     }
     
-    /**
-     * Broadcast a time warning to all participants
-     */
-    private void broadcastTimeWarning(int remainingSeconds) {
-        Component message;
-        if (remainingSeconds >= 60) {
-            int minutes = remainingSeconds / 60;
-            message = Component.translatable("message.cobblemonraiddens.coop_raid.time_warning_minutes", minutes)
-                .withStyle(ChatFormatting.GOLD);
-        } else {
-            message = Component.translatable("message.cobblemonraiddens.coop_raid.time_warning_seconds", remainingSeconds)
-                .withStyle(remainingSeconds <= 10 ? ChatFormatting.RED : ChatFormatting.GOLD);
-        }
-        broadcastMessage(message);
+    @Override
+    protected void onTimeout() {
+        this.endRaid(false);
     }
     
     /**
@@ -252,16 +184,15 @@ public class CoopRaidSession {
         this.raidEnded = true;
         this.raidActive = false;
         
-        // Remove boss bar
-        this.bossEvent.setVisible(false);
-        this.bossEvent.removeAllPlayers();
-        
         if (victory) {
             handleVictory();
         } else {
             handleDefeat();
         }
         
+        // Remove boss bar and leave the tick loop
+        this.finish();
+        
         // Kill boss entity if victory
         if (victory && !this.bossEntity.isDeadOrDying()) {
             this.bossEntity.setHealth(0f);
@@ -277,7 +208,7 @@ public class CoopRaidSession {
      */
     private void handleVictory() {
         // Calculate time taken
-        int timeTakenTicks = this.totalDurationTicks - this.remainingTicks;
+        int timeTakenTicks = this.totalTicks - this.remainingTicks;
         int timeTakenSeconds = timeTakenTicks / 20;
         int minutes = timeTakenSeconds / 60;
         int seconds = timeTakenSeconds % 60;
@@ -293,17 +224,15 @@ public class CoopRaidSession {
         broadcastMessage(Component.translatable("message.cobblemonraiddens.coop_raid.contributions")
             .withStyle(ChatFormatting.GOLD));
         
-        for (Map.Entry<UUID, Integer> entry : this.playerDefeats.entrySet()) {
-            ServerPlayer player = getPlayerByUUID(entry.getKey());
-            if (player != null) {
-                int defeats = entry.getValue();
-                int damageContribution = defeats * this.normalPokemonHp;
-                Component contribution = Component.literal("  - ")
-                    .append(player.getName())
-                    .append(Component.literal(": " + defeats + " defeats (" + damageContribution + " damage)"))
-                    .withStyle(ChatFormatting.YELLOW);
-                broadcastMessage(contribution);
-            }
+        for (int i = 0; i < this.participants.size(); i++) {
+            ServerPlayer player = this.participants.getPlayer(i);
+            int defeats = this.participants.getDefeats(i);
+            int damageContribution = defeats * this.normalPokemonHp;
+            Component contribution = Component.literal("  - ")
+                .append(player.getName())
+                .append(Component.literal(": " + defeats + " defeats (" + damageContribution + " damage)"))
+                .withStyle(ChatFormatting.YELLOW);
+            broadcastMessage(contribution);
         }
         
         // Give rewards to all participants
@@ -316,8 +245,8 @@ public class CoopRaidSession {
             cachedReward.setNature(this.bossEntity.getPokemon().getNature());
         }
         
-        for (ServerPlayer player : this.participants) {
-            new RewardHandler(this.raidBoss, player, true, cachedReward).sendRewardMessage();
+        for (ServerPlayer player : this.participants.asList()) {
+            RewardLedger.issue(this.raidBoss, player, true, cachedReward);
             RaidEvents.RAID_END.emit(new RaidEndEvent(player, this.raidBoss, this.bossEntity.getPokemon(), true));
         }
     }
@@ -328,13 +257,13 @@ public class CoopRaidSession {
     private void handleDefeat() {
         // Defeat message
         Component defeatMessage = Component.translatable("message.cobblemonraiddens.coop_raid.defeat",
-                this.currentBossHp, this.maxBossHp)
+                this.getCurrentBossHp(), this.getMaxBossHp())
             .withStyle(ChatFormatting.RED)
             .withStyle(ChatFormatting.BOLD);
         broadcastMessage(defeatMessage);
         
         // Emit raid end event for each participant
-        for (ServerPlayer player : this.participants) {
+        for (ServerPlayer player : this.participants.asList()) {
             player.sendSystemMessage(Component.translatable("message.cobblemonraiddens.raid.raid_fail"));
             RaidEvents.RAID_END.emit(new RaidEndEvent(player, this.raidBoss, this.bossEntity.getPokemon(), false));
         }
@@ -344,64 +273,32 @@ public class CoopRaidSession {
      * Send current raid status to a specific player
      */
     private void sendStatusToPlayer(ServerPlayer player) {
-        int remainingSeconds = this.remainingTicks / 20;
-        int minutes = remainingSeconds / 60;
-        int seconds = remainingSeconds % 60;
-        
         Component status = Component.translatable("message.cobblemonraiddens.coop_raid.status",
-                this.currentBossHp,
-                this.maxBossHp,
-                String.format("%d:%02d", minutes, seconds),
+                this.getCurrentBossHp(),
+                this.getMaxBossHp(),
+                RaidTimeFormat.format(this.remainingTicks / 20),
                 this.participants.size())
             .withStyle(ChatFormatting.AQUA);
         player.sendSystemMessage(status);
     }
     
-    /**
-     * Broadcast a message to all participants
-     */
-    private void broadcastMessage(Component message) {
-        for (ServerPlayer player : this.participants) {
-            player.sendSystemMessage(message);
-        }
-    }
-    
-    /**
-     * Get a player by UUID from the participants list
-     */
-    private ServerPlayer getPlayerByUUID(UUID uuid) {
-        for (ServerPlayer player : this.participants) {
-            if (player.getUUID().equals(uuid)) {
-                return player;
-            }
-        }
-        return null;
-    }
-    
     // Getters
     
+    @Override
     public UUID getRaidId() {
         return this.raidId;
     }
     
-    public PokemonEntity getBossEntity() {
-        return this.bossEntity;
-    }
-    
-    public RaidBoss getRaidBoss() {
-        return this.raidBoss;
-    }
-    
     public List<ServerPlayer> getParticipants() {
-        return this.participants;
+        return this.getPlayers();
     }
     
     public int getCurrentBossHp() {
-        return this.currentBossHp;
+        return (int) this.currentHealth;
     }
     
     public int getMaxBossHp() {
-        return this.maxBossHp;
+        return (int) this.maxHealth;
     }
     
     public int getNormalPokemonHp() {
@@ -412,10 +309,6 @@ public class CoopRaidSession {
         return this.healthMultiplier;
     }
     
-    public int getRemainingTicks() {
-        return this.remainingTicks;
-    }
-    
     public int getRemainingSeconds() {
         return this.remainingTicks / 20;
     }
@@ -424,20 +317,11 @@ public class CoopRaidSession {
         return this.raidActive;
     }
     
+    @Override
     public boolean hasEnded() {
         return this.raidEnded;
     }
     
-    /**
-     * Static tick method to update all active coop raids
-     */
-    public static void tickAllRaids() {
-        List<CoopRaidSession> raids = new ArrayList<>(ACTIVE_COOP_RAIDS.values());
-        for (CoopRaidSession raid : raids) {
-            raid.tick();
-        }
-    }
-    
     /**
      * Get a coop raid session by raid ID
      */
@@ -456,23 +340,14 @@ public class CoopRaidSession {
      * Check if a player is currently in a coop raid
      */
     public static boolean isPlayerInCoopRaid(ServerPlayer player) {
-        for (CoopRaidSession raid : ACTIVE_COOP_RAIDS.values()) {
-            if (raid.getParticipants().contains(player)) {
-                return true;
-            }
-        }
-        return false;
+        return getPlayerCoopRaid(player) != null;
     }
     
     /**
      * Get the coop raid session a player is currently in
      */
     public static CoopRaidSession getPlayerCoopRaid(ServerPlayer player) {
-        for (CoopRaidSession raid : ACTIVE_COOP_RAIDS.values()) {
-            if (raid.getParticipants().contains(player)) {
-                return raid;
-            }
-        }
-        return null;
+        UUID raidId = SharedHealthRaid.MEMBERSHIP.getRaid(player.getUUID());
+        return raidId == null ? null : ACTIVE_COOP_RAIDS.get(raidId);
     }
 }
@@ -0,0 +1,188 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bulk admin changes to dens, worked out from the {@link DenIndex} instead of the world, so they reach every den no
+ * matter where it is. Jobs run one at a time, a slice of dens per tick. Dens in loaded chunks are changed straight
+ * away; the rest are marked in their index region and the crystal applies the change the next time its chunk loads.
+ * Cleared raid records live outside the chunk, so resetting clears takes effect for players immediately either way.
+ */
+public class DenAdminJobs {
+    public static final int RESET_CLEARS = 1;
+    public static final int REROLL = 2;
+
+    private static final int DENS_PER_TICK = 128;
+    private static final int REPORT_INTERVAL = 100;
+
+    private static final Deque<Job> JOBS = new ArrayDeque<>();
+    private static int NEXT_ID = 1;
+
+    /**
+     * Queues a job over every indexed den in the dimension within {@code radius} blocks of the centre (or anywhere, if
+     * the radius is negative) that matches the filter.
+     */
+    public static Job submit(CommandSourceStack source, ServerLevel level, int changes, @Nullable BlockPos center,
+                             int radius, Predicate<DenIndex.DenEntry> filter) {
+        List<Long> regions = new ArrayList<>();
+        DenIndex.forEachRegion(level.dimension(), (key, region) -> {
+            if (center == null || radius < 0 || overlaps(key, center, radius)) regions.add(key);
+        });
+
+        long radiusSqr = (long) radius * radius;
+        Predicate<DenIndex.DenEntry> matches = center == null || radius < 0
+            ? filter
+            : entry -> entry.distanceSqr(center) <= radiusSqr && filter.test(entry);
+        Job job = new Job(NEXT_ID++, source, level.dimension(), changes, matches, regions);
+        JOBS.add(job);
+        return job;
+    }
+
+    private static boolean overlaps(long key, BlockPos center, int radius) {
+        int minX = DenIndexRegion.getX(key) << DenIndexRegion.REGION_SHIFT;
+        int minZ = DenIndexRegion.getZ(key) << DenIndexRegion.REGION_SHIFT;
+        int size = 1 << DenIndexRegion.REGION_SHIFT;
+        long dx = Math.max(0, Math.max(minX - center.getX(), center.getX() - (minX + size - 1)));
+        long dz = Math.max(0, Math.max(minZ - center.getZ(), center.getZ() - (minZ + size - 1)));
+        return dx * dx + dz * dz <= (long) radius * radius;
+    }
+
+    public static void tick() {
+        Job job = JOBS.peek();
+        if (job == null) return;
+        if (job.run(DENS_PER_TICK)) {
+            JOBS.poll();
+            job.report("message.cobblemonraiddens.command.den_job_done");
+        }
+        else if (++job.ticks % REPORT_INTERVAL == 0) job.report("message.cobblemonraiddens.command.den_job_progress");
+    }
+
+    public static boolean cancel(int id) {
+        return JOBS.removeIf(job -> job.id == id);
+    }
+
+    public static List<Job> getJobs() {
+        return List.copyOf(JOBS);
+    }
+
+    /**
+     * Applies admin changes to a loaded crystal. Changes that cannot be made while a raid is running are handed back.
+     */
+    public static int apply(RaidCrystalBlockEntity blockEntity, int changes) {
+        if (changes == 0) return 0;
+        else if (blockEntity.getRaidHost() != null) return changes;
+        if ((changes & REROLL) != 0) blockEntity.reroll();
+        if ((changes & RESET_CLEARS) != 0) blockEntity.resetAllClears();
+        return 0;
+    }
+
+    public static void clear() {
+        JOBS.clear();
+    }
+
+    public static class Job {
+        private final int id;
+        private final CommandSourceStack source;
+        private final ResourceKey<Level> dimension;
+        private final int changes;
+        private final Predicate<DenIndex.DenEntry> filter;
+        private final List<Long> regions;
+        private final List<DenIndex.DenEntry> dens;
+        private int region;
+        private int cursor;
+        private int ticks;
+        private int applied;
+        private int deferred;
+
+        private Job(int id, CommandSourceStack source, ResourceKey<Level> dimension, int changes,
+                    Predicate<DenIndex.DenEntry> filter, List<Long> regions) {
+            this.id = id;
+            this.source = source;
+            this.dimension = dimension;
+            this.changes = changes;
+            this.filter = filter;
+            this.regions = regions;
+            this.dens = new ArrayList<>();
+            this.region = -1;
+            this.cursor = 0;
+        }
+
+        /**
+         * Works through up to {@code budget} dens. Returns true once every region has been visited.
+         */
+        private boolean run(int budget) {
+            ServerLevel level = this.source.getServer().getLevel(this.dimension);
+            if (level == null) return true;
+
+            while (budget > 0) {
+                if (this.cursor >= this.dens.size()) {
+                    if (++this.region >= this.regions.size()) return true;
+                    this.dens.clear();
+                    this.cursor = 0;
+                    DenIndexRegion region = DenIndex.getRegion(this.dimension, this.regions.get(this.region));
+                    if (region != null) region.forEach(this.dens::add);
+                    budget--;
+                    continue;
+                }
+
+                DenIndex.DenEntry entry = this.dens.get(this.cursor++);
+                budget--;
+                if (this.filter.test(entry)) this.change(level, entry);
+            }
+            return false;
+        }
+
+        private void change(ServerLevel level, DenIndex.DenEntry entry) {
+            if ((this.changes & RESET_CLEARS) != 0) RaidHelper.resetClearedRaids(entry.den());
+
+            BlockPos blockPos = entry.getBlockPos();
+            LevelChunk chunk = level.getChunkSource().getChunkNow(blockPos.getX() >> 4, blockPos.getZ() >> 4);
+            int remaining = this.changes;
+            if (chunk != null && chunk.getBlockEntity(blockPos) instanceof RaidCrystalBlockEntity blockEntity) {
+                remaining = apply(blockEntity, remaining);
+            }
+
+            if (remaining == 0) this.applied++;
+            else {
+                DenIndex.addPending(this.dimension, blockPos, remaining);
+                this.deferred++;
+            }
+        }
+
+        private void report(String key) {
+            this.source.sendSystemMessage(RaidHelper.getSystemMessage(this.describe(key)));
+        }
+
+        private MutableComponent describe(String key) {
+            int visited = Math.max(0, Math.min(this.region, this.regions.size()));
+            return Component.translatable(key, this.id, visited, this.regions.size(), this.applied, this.deferred);
+        }
+
+        public MutableComponent describe() {
+            return this.describe("message.cobblemonraiddens.command.den_job_progress");
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public int getRegionCount() {
+            return this.regions.size();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.blocks.block.RaidCrystalBlock;
+import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Where every raid den in the world is, whether or not its chunk is loaded. Dens are added when world generation
+ * places them and kept up to date whenever a crystal loads or changes, and each dimension's index is split into
+ * {@link DenIndexRegion}s that double as the cells of a spatial hash, so radius queries only look at the regions
+ * they overlap. The index is not backfilled: dens generated before it existed are only added once their chunk loads.
+ * <p>
+ * Updates can come from world generation threads, so they are queued and applied on the server thread, at the
+ * latest before the next query. A dimension's regions are read from disk the first time it is used.
+ */
+public class DenIndex {
+    private static final Pattern REGION_FILE = Pattern.compile(CobblemonRaidDens.MOD_ID + "_dens_(-?\\d+)_(-?\\d+)\\.dat");
+
+    private static final Map<ResourceKey<Level>, Map<Long, DenIndexRegion>> DIMENSIONS = new HashMap<>();
+    private static final Queue<Update> UPDATES = new ConcurrentLinkedQueue<>();
+    private static MinecraftServer SERVER = null;
+
+    public static void load(MinecraftServer server) {
+        clear();
+        SERVER = server;
+    }
+
+    public static void update(ResourceKey<Level> dimension, DenEntry entry) {
+        UPDATES.add(new Update(dimension, entry.pos(), entry));
+    }
+
+    public static void remove(ResourceKey<Level> dimension, BlockPos blockPos) {
+        UPDATES.add(new Update(dimension, blockPos.asLong(), null));
+    }
+
+    public static void tick() {
+        Update update;
+        while ((update = UPDATES.poll()) != null) {
+            BlockPos blockPos = BlockPos.of(update.pos);
+            long key = DenIndexRegion.getKey(blockPos.getX(), blockPos.getZ());
+            if (update.entry == null) {
+                DenIndexRegion region = getRegion(update.dimension, key, false);
+                if (region != null) region.remove(update.pos);
+            }
+            else {
+                DenIndexRegion region = getRegion(update.dimension, key, true);
+                if (region != null) region.put(update.entry);
+            }
+        }
+    }
+
+    private static @Nullable DenIndexRegion getRegion(ResourceKey<Level> dimension, long key, boolean create) {
+        Map<Long, DenIndexRegion> regions = getRegions(dimension);
+        if (regions == null) return null;
+        DenIndexRegion region = regions.get(key);
+        if (region != null || !create) return region;
+
+        ServerLevel level = SERVER.getLevel(dimension);
+        if (level == null) return null;
+        region = level.getDataStorage().computeIfAbsent(DenIndexRegion.type(), DenIndexRegion.getName(key));
+        regions.put(key, region);
+        return region;
+    }
+
+    /**
+     * Returns the dimension's regions, reading every saved region from disk the first time.
+     */
+    private static @Nullable Map<Long, DenIndexRegion> getRegions(ResourceKey<Level> dimension) {
+        Map<Long, DenIndexRegion> regions = DIMENSIONS.get(dimension);
+        if (regions != null) return regions;
+        else if (SERVER == null) return null;
+        ServerLevel level = SERVER.getLevel(dimension);
+        if (level == null) return null;
+
+        regions = new HashMap<>();
+        File folder = DimensionType.getStorageFolder(dimension, SERVER.getWorldPath(LevelResource.ROOT)).resolve("data").toFile();
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(CobblemonRaidDens.MOD_ID + "_dens_"));
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = REGION_FILE.matcher(file.getName());
+                if (!matcher.matches()) continue;
+                long key = DenIndexRegion.pack(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                DenIndexRegion region = level.getDataStorage().get(DenIndexRegion.type(), DenIndexRegion.getName(key));
+                if (region != null) regions.put(key, region);
+            }
+        }
+        DIMENSIONS.put(dimension, regions);
+        return regions;
+    }
+
+    public static @Nullable DenEntry get(ResourceKey<Level> dimension, BlockPos blockPos) {
+        tick();
+        DenIndexRegion region = getRegion(dimension, DenIndexRegion.getKey(blockPos.getX(), blockPos.getZ()), false);
+        return region == null ? null : region.get(blockPos.asLong());
+    }
+
+    /**
+     * Every den within {@code radius} blocks of the centre horizontally that matches the filter, nearest first.
+     */
+    public static List<DenEntry> query(ResourceKey<Level> dimension, BlockPos center, int radius, Predicate<DenEntry> filter) {
+        tick();
+        List<DenEntry> found = new ArrayList<>();
+        Map<Long, DenIndexRegion> regions = getRegions(dimension);
+        if (regions == null || regions.isEmpty()) return found;
+
+        long radiusSqr = (long) radius * radius;
+        Predicate<DenEntry> inRange = entry -> entry.distanceSqr(center) <= radiusSqr && filter.test(entry);
+        int minX = (center.getX() - radius) >> DenIndexRegion.REGION_SHIFT;
+        int maxX = (center.getX() + radius) >> DenIndexRegion.REGION_SHIFT;
+        int minZ = (center.getZ() - radius) >> DenIndexRegion.REGION_SHIFT;
+        int maxZ = (center.getZ() + radius) >> DenIndexRegion.REGION_SHIFT;
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > regions.size()) {
+            regions.values().forEach(region -> region.forEach(entry -> {
+                if (inRange.test(entry)) found.add(entry);
+            }));
+        }
+        else {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    DenIndexRegion region = regions.get(DenIndexRegion.pack(x, z));
+                    if (region != null) region.forEach(entry -> {
+                        if (inRange.test(entry)) found.add(entry);
+                    });
+                }
+            }
+        }
+        found.sort(Comparator.comparingLong(entry -> entry.distanceSqr(center)));
+        return found;
+    }
+
+    /**
+     * Visits every indexed region of a dimension, keyed as in {@link DenIndexRegion#pack}.
+     */
+    public static void forEachRegion(ResourceKey<Level> dimension, BiConsumer<Long, DenIndexRegion> consumer) {
+        tick();
+        Map<Long, DenIndexRegion> regions = getRegions(dimension);
+        if (regions != null) regions.forEach(consumer);
+    }
+
+    public static @Nullable DenIndexRegion getRegion(ResourceKey<Level> dimension, long key) {
+        tick();
+        return getRegion(dimension, key, false);
+    }
+
+    /**
+     * Records admin changes for a den to apply when its chunk next loads.
+     */
+    public static void addPending(ResourceKey<Level> dimension, BlockPos blockPos, int changes) {
+        DenIndexRegion region = getRegion(dimension, DenIndexRegion.getKey(blockPos.getX(), blockPos.getZ()));
+        if (region != null) region.addPending(blockPos.asLong(), changes);
+    }
+
+    public static int takePending(ResourceKey<Level> dimension, BlockPos blockPos) {
+        DenIndexRegion region = getRegion(dimension, DenIndexRegion.getKey(blockPos.getX(), blockPos.getZ()));
+        return region == null ? 0 : region.takePending(blockPos.asLong());
+    }
+
+    public static int size(ResourceKey<Level> dimension) {
+        tick();
+        Map<Long, DenIndexRegion> regions = getRegions(dimension);
+        return regions == null ? 0 : regions.values().stream().mapToInt(DenIndexRegion::size).sum();
+    }
+
+    public static void clear() {
+        DIMENSIONS.clear();
+        UPDATES.clear();
+        SERVER = null;
+    }
+
+    public enum DenState {
+        ACTIVE,
+        INACTIVE,
+        RAIDING
+    }
+
+    public record DenEntry(long pos, UUID den, RaidTier tier, RaidType type, RaidCycleMode cycleMode,
+                           @Nullable ResourceLocation boss, DenState state, boolean canReset, long lastReset) {
+        public static DenEntry of(RaidCrystalBlockEntity blockEntity, BlockState blockState) {
+            DenState state;
+            if (blockEntity.getRaidHost() != null) state = DenState.RAIDING;
+            else if (blockEntity.isActive(blockState)) state = DenState.ACTIVE;
+            else state = DenState.INACTIVE;
+
+            return new DenEntry(
+                blockEntity.getBlockPos().asLong(), blockEntity.getUuid(),
+                blockState.getValue(RaidCrystalBlock.RAID_TIER), blockState.getValue(RaidCrystalBlock.RAID_TYPE),
+                blockState.getValue(RaidCrystalBlock.CYCLE_MODE), blockEntity.getRaidBossLocation(), state,
+                blockState.getValue(RaidCrystalBlock.CAN_RESET), blockEntity.getLastReset()
+            );
+        }
+
+        public BlockPos getBlockPos() {
+            return BlockPos.of(this.pos);
+        }
+
+        public long distanceSqr(BlockPos center) {
+            long dx = BlockPos.getX(this.pos) - center.getX();
+            long dz = BlockPos.getZ(this.pos) - center.getZ();
+            return dx * dx + dz * dz;
+        }
+
+        int packFlags() {
+            return this.tier.ordinal()
+                | this.type.ordinal() << 8
+                | this.cycleMode.ordinal() << 16
+                | this.state.ordinal() << 24
+                | (this.canReset ? 1 << 30 : 0);
+        }
+
+        static @Nullable DenEntry unpack(long pos, UUID den, @Nullable ResourceLocation boss, int flags, long lastReset) {
+            int tier = flags & 0xFF;
+            int type = flags >> 8 & 0xFF;
+            int cycleMode = flags >> 16 & 0xFF;
+            int state = flags >> 24 & 0x3F;
+            if (tier >= RaidTier.values().length || type >= RaidType.values().length
+                || cycleMode >= RaidCycleMode.values().length || state >= DenState.values().length) return null;
+            return new DenEntry(
+                pos, den, RaidTier.values()[tier], RaidType.values()[type], RaidCycleMode.values()[cycleMode],
+                boss, DenState.values()[state], (flags & 1 << 30) != 0, lastReset
+            );
+        }
+    }
+
+    private record Update(ResourceKey<Level> dimension, long pos, @Nullable DenEntry entry) {}
+}
@@ -0,0 +1,171 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The den index entries for one 512 by 512 block region of a dimension, saved as its own data file so an autosave only
+ * rewrites the regions that changed. Dens are stored as parallel arrays, with boss ids written once per region in a
+ * palette.
+ * <p>
+ * A region also holds admin changes waiting for unloaded dens, as bit flags from {@link DenAdminJobs}, which the
+ * crystal applies and clears when its chunk next loads.
+ */
+public class DenIndexRegion extends SavedData {
+    public static final int REGION_SHIFT = 9;
+    private static final int VERSION = 1;
+
+    private final Long2ObjectOpenHashMap<DenIndex.DenEntry> dens;
+    private final Long2IntOpenHashMap pending;
+
+    public DenIndexRegion() {
+        this.dens = new Long2ObjectOpenHashMap<>();
+        this.pending = new Long2IntOpenHashMap();
+    }
+
+    public @Nullable DenIndex.DenEntry get(long pos) {
+        return this.dens.get(pos);
+    }
+
+    public void put(DenIndex.DenEntry entry) {
+        DenIndex.DenEntry previous = this.dens.put(entry.pos(), entry);
+        if (!entry.equals(previous)) this.setDirty();
+    }
+
+    public void remove(long pos) {
+        if (this.dens.remove(pos) != null) this.setDirty();
+        this.takePending(pos);
+    }
+
+    public void addPending(long pos, int changes) {
+        int previous = this.pending.get(pos);
+        if ((previous | changes) == previous) return;
+        this.pending.put(pos, previous | changes);
+        this.setDirty();
+    }
+
+    public int takePending(long pos) {
+        int changes = this.pending.remove(pos);
+        if (changes != 0) this.setDirty();
+        return changes;
+    }
+
+    public int size() {
+        return this.dens.size();
+    }
+
+    public void forEach(Consumer<DenIndex.DenEntry> consumer) {
+        this.dens.values().forEach(consumer);
+    }
+
+    public static long getKey(int blockX, int blockZ) {
+        return pack(blockX >> REGION_SHIFT, blockZ >> REGION_SHIFT);
+    }
+
+    public static long pack(int regionX, int regionZ) {
+        return (long) regionX & 0xFFFFFFFFL | ((long) regionZ & 0xFFFFFFFFL) << 32;
+    }
+
+    public static int getX(long key) {
+        return (int) key;
+    }
+
+    public static int getZ(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static String getName(long key) {
+        return String.format("%s_dens_%d_%d", CobblemonRaidDens.MOD_ID, getX(key), getZ(key));
+    }
+
+    public static DenIndexRegion load(CompoundTag compoundTag, HolderLookup.Provider provider) {
+        DenIndexRegion region = new DenIndexRegion();
+        long[] positions = compoundTag.getLongArray("pos");
+        long[] uuids = compoundTag.getLongArray("den");
+        long[] resets = compoundTag.getLongArray("reset");
+        int[] flags = compoundTag.getIntArray("flags");
+        int[] bosses = compoundTag.getIntArray("boss");
+        ListTag palette = compoundTag.getList("palette", Tag.TAG_STRING);
+        if (uuids.length != positions.length * 2 || resets.length != positions.length
+            || flags.length != positions.length || bosses.length != positions.length) return region;
+
+        ResourceLocation[] ids = new ResourceLocation[palette.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = ResourceLocation.tryParse(palette.getString(i));
+
+        for (int i = 0; i < positions.length; i++) {
+            ResourceLocation boss = bosses[i] >= 0 && bosses[i] < ids.length ? ids[bosses[i]] : null;
+            DenIndex.DenEntry entry = DenIndex.DenEntry.unpack(
+                positions[i], new UUID(uuids[i * 2], uuids[i * 2 + 1]), boss, flags[i], resets[i]
+            );
+            if (entry != null) region.dens.put(entry.pos(), entry);
+        }
+
+        long[] pendingPositions = compoundTag.getLongArray("pending_pos");
+        int[] pendingChanges = compoundTag.getIntArray("pending");
+        for (int i = 0; i < Math.min(pendingPositions.length, pendingChanges.length); i++) {
+            if (region.dens.containsKey(pendingPositions[i])) region.pending.put(pendingPositions[i], pendingChanges[i]);
+        }
+        return region;
+    }
+
+    @Override
+    public @NotNull CompoundTag save(CompoundTag compoundTag, HolderLookup.Provider provider) {
+        int size = this.dens.size();
+        long[] positions = new long[size];
+        long[] uuids = new long[size * 2];
+        long[] resets = new long[size];
+        int[] flags = new int[size];
+        int[] bosses = new int[size];
+        Map<ResourceLocation, Integer> palette = new LinkedHashMap<>();
+
+        int i = 0;
+        for (DenIndex.DenEntry entry : this.dens.values()) {
+            positions[i] = entry.pos();
+            uuids[i * 2] = entry.den().getMostSignificantBits();
+            uuids[i * 2 + 1] = entry.den().getLeastSignificantBits();
+            resets[i] = entry.lastReset();
+            flags[i] = entry.packFlags();
+            bosses[i] = entry.boss() == null ? -1 : palette.computeIfAbsent(entry.boss(), id -> palette.size());
+            i++;
+        }
+
+        ListTag ids = new ListTag();
+        palette.keySet().forEach(id -> ids.add(StringTag.valueOf(id.toString())));
+
+        compoundTag.putInt("version", VERSION);
+        compoundTag.put("pos", new LongArrayTag(positions));
+        compoundTag.put("den", new LongArrayTag(uuids));
+        compoundTag.put("reset", new LongArrayTag(resets));
+        compoundTag.putIntArray("flags", flags);
+        compoundTag.putIntArray("boss", bosses);
+        compoundTag.put("palette", ids);
+
+        if (!this.pending.isEmpty()) {
+            compoundTag.put("pending_pos", new LongArrayTag(this.pending.keySet().toLongArray()));
+            compoundTag.putIntArray("pending", this.pending.values().toIntArray());
+        }
+        return compoundTag;
+    }
+
+    public static Factory<DenIndexRegion> type() {
+        return new Factory<>(
+            DenIndexRegion::new,
+            DenIndexRegion::load,
+            null
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import com.necro.raid.dens.common.network.RaidMulticast;
+import com.necro.raid.dens.common.network.packets.SyncHealthPacket;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Coalesces boss health updates for one raid. Damage only marks the ratio dirty; the raid tick multicasts it to the
+ * raid's group as a keyframe at most once per {@code health_sync_interval} ticks, skipping changes smaller than
+ * {@code health_sync_threshold}. Reaching zero or full health is always sent.
+ * <p>
+ * Each keyframe carries the game time and the rate of change since the previous one, which clients extrapolate with.
+ * Once the health stops changing, a keyframe with no rate is sent so clients stop extrapolating.
+ */
+public class HealthSync {
+    private float pending;
+    private float lastSent;
+    private long lastSentTime;
+    private float rate;
+    private boolean dirty;
+    private int ticksSinceFlush;
+
+    private long packetsSent;
+    private long updatesCoalesced;
+
+    public HealthSync() {
+        this.pending = 1.0f;
+        this.lastSent = -1.0f;
+        this.lastSentTime = -1L;
+        this.rate = 0.0f;
+        this.dirty = false;
+        this.ticksSinceFlush = 0;
+        this.packetsSent = 0;
+        this.updatesCoalesced = 0;
+    }
+
+    public void markDirty(float healthRatio) {
+        if (this.dirty) this.updatesCoalesced++;
+        this.pending = healthRatio;
+        this.dirty = true;
+    }
+
+    public void sendTo(ServerPlayer player, float healthRatio, long gameTime) {
+        RaidDenNetworkMessages.SYNC_HEALTH.accept(player, new SyncHealthPacket(healthRatio, gameTime, 0.0f));
+        this.packetsSent++;
+    }
+
+    public void tick(RaidMulticast group, long gameTime) {
+        this.ticksSinceFlush++;
+        if (this.ticksSinceFlush < CobblemonRaidDens.CONFIG.health_sync_interval) return;
+        else if (!this.dirty) {
+            if (this.rate != 0.0f) this.flush(group, gameTime, true);
+            return;
+        }
+
+        boolean edge = this.pending <= 0.0f || this.pending >= 1.0f;
+        if (!edge && Math.abs(this.pending - this.lastSent) < CobblemonRaidDens.CONFIG.health_sync_threshold) return;
+        this.flush(group, gameTime);
+    }
+
+    public void flush(RaidMulticast group, long gameTime) {
+        this.flush(group, gameTime, false);
+    }
+
+    private void flush(RaidMulticast group, long gameTime, boolean force) {
+        if (!this.dirty && !force) return;
+        this.rate = this.getRate(gameTime);
+        group.send(new SyncHealthPacket(this.pending, gameTime, this.rate));
+        this.packetsSent += group.size();
+        this.lastSent = this.pending;
+        this.lastSentTime = gameTime;
+        this.dirty = false;
+        this.ticksSinceFlush = 0;
+    }
+
+    private float getRate(long gameTime) {
+        if (this.pending <= 0.0f || this.pending >= 1.0f) return 0.0f;
+        else if (this.lastSentTime < 0 || gameTime <= this.lastSentTime) return 0.0f;
+        return (this.pending - this.lastSent) / (gameTime - this.lastSentTime);
+    }
+
+    public long getPacketsSent() {
+        return this.packetsSent;
+    }
+
+    public long getUpdatesCoalesced() {
+        return this.updatesCoalesced;
+    }
+}
@@ -0,0 +1,173 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import com.necro.raid.dens.common.util.collections.UuidIntMap;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Paces raid starts against the server's tick budget. A raid start creates a dimension, places the den structure and
+ * spawns the boss within one tick. When the recent MSPT plus the measured cost of a start would go over
+ * {@code raid_start_mspt_budget}, or the tier already has {@code max_concurrent_raids} open, the start is queued.
+ * The queue admits at most one start per tick, and only while the budget allows it.
+ * <p>
+ * The estimate only counts for up to half the budget, and it decays on every tick the queue waits, so one slow start
+ * cannot hold the queue shut while the server itself is keeping up.
+ */
+public class RaidAdmission {
+    private static final double SETUP_COST_WEIGHT = 0.25;
+    private static final double SETUP_COST_DECAY = 0.98;
+    private static final double MAX_SETUP_SHARE = 0.5;
+
+    private static final Deque<PendingStart> QUEUE = new ArrayDeque<>();
+    private static final UuidIntMap OPEN_DENS = new UuidIntMap();
+    private static final int[] OPEN_PER_TIER = new int[RaidTier.values().length];
+    private static double SETUP_MILLIS = 0.0;
+    private static int TICKS = 0;
+
+    public static boolean shouldQueue(MinecraftServer server, RaidTier tier) {
+        return !QUEUE.isEmpty() || !hasRoom(tier) || !isUnderBudget(server);
+    }
+
+    /**
+     * Runs a raid start now, timing it to update the estimated cost of future starts.
+     */
+    public static boolean start(RaidCrystalBlockEntity blockEntity, RaidTier tier, BooleanSupplier start) {
+        long begin = System.nanoTime();
+        boolean success = start.getAsBoolean();
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+        SETUP_MILLIS = SETUP_MILLIS == 0.0 ? millis : SETUP_MILLIS + (millis - SETUP_MILLIS) * SETUP_COST_WEIGHT;
+
+        if (success && !OPEN_DENS.containsKey(blockEntity.getUuid())) {
+            OPEN_DENS.put(blockEntity.getUuid(), tier.ordinal());
+            OPEN_PER_TIER[tier.ordinal()]++;
+        }
+        if (success) RaidCheckpoints.open(blockEntity);
+        return success;
+    }
+
+    /**
+     * Reserves the den for the player and queues its start. Returns the player's position in the queue.
+     */
+    public static int enqueue(ServerPlayer player, RaidCrystalBlockEntity blockEntity, RaidTier tier, @Nullable ItemStack key, BooleanSupplier start) {
+        blockEntity.setRaidHost(player);
+        ItemStack refund = key == null ? null : key.copyWithCount(1);
+        QUEUE.add(new PendingStart(player, blockEntity, tier, refund, start));
+        return QUEUE.size();
+    }
+
+    public static boolean isQueued(Player player) {
+        return getPosition(player) > 0;
+    }
+
+    public static boolean isQueued(RaidCrystalBlockEntity blockEntity) {
+        for (PendingStart pending : QUEUE) {
+            if (pending.blockEntity == blockEntity) return true;
+        }
+        return false;
+    }
+
+    public static int getPosition(Player player) {
+        int position = 1;
+        for (PendingStart pending : QUEUE) {
+            if (pending.player == player) return position;
+            position++;
+        }
+        return 0;
+    }
+
+    /**
+     * Frees the den's slot in its tier once the raid has closed.
+     */
+    public static void release(UUID den) {
+        int tier = OPEN_DENS.remove(den, -1);
+        if (tier >= 0) OPEN_PER_TIER[tier]--;
+    }
+
+    public static void cancel(Player player) {
+        QUEUE.removeIf(pending -> {
+            if (pending.player != player) return false;
+            pending.cancel();
+            return true;
+        });
+    }
+
+    public static void tick(MinecraftServer server) {
+        if (QUEUE.isEmpty()) return;
+
+        if (isUnderBudget(server)) {
+            Iterator<PendingStart> iterator = QUEUE.iterator();
+            while (iterator.hasNext()) {
+                PendingStart pending = iterator.next();
+                if (!pending.isValid()) {
+                    iterator.remove();
+                    pending.cancel();
+                    continue;
+                }
+                else if (!hasRoom(pending.tier)) continue;
+
+                iterator.remove();
+                if (!start(pending.blockEntity, pending.tier, pending.start)) pending.refund();
+                break;
+            }
+        }
+        else SETUP_MILLIS *= SETUP_COST_DECAY;
+
+        if (++TICKS % 20 != 0) return;
+        int position = 1;
+        for (PendingStart pending : QUEUE) {
+            pending.player.displayClientMessage(Component.translatable("message.cobblemonraiddens.raid.queue_position", position++)
+                .withStyle(ChatFormatting.GOLD), true);
+        }
+    }
+
+    public static void clear() {
+        QUEUE.forEach(PendingStart::cancel);
+        QUEUE.clear();
+        OPEN_DENS.clear();
+        Arrays.fill(OPEN_PER_TIER, 0);
+        SETUP_MILLIS = 0.0;
+        TICKS = 0;
+    }
+
+    private static boolean hasRoom(RaidTier tier) {
+        int max = CobblemonRaidDens.TIER_CONFIG.get(tier).maxConcurrentRaids();
+        return max < 0 || OPEN_PER_TIER[tier.ordinal()] < max;
+    }
+
+    private static boolean isUnderBudget(MinecraftServer server) {
+        float budget = CobblemonRaidDens.CONFIG.raid_start_mspt_budget;
+        if (budget <= 0f) return true;
+        double mspt = server.getAverageTickTimeNanos() / 1_000_000.0;
+        return mspt + Math.min(SETUP_MILLIS, budget * MAX_SETUP_SHARE) <= budget;
+    }
+
+    private record PendingStart(ServerPlayer player, RaidCrystalBlockEntity blockEntity, RaidTier tier, @Nullable ItemStack key, BooleanSupplier start) {
+        private boolean isValid() {
+            return !this.player.hasDisconnected() && !this.blockEntity.isRemoved() && !this.blockEntity.hasDimension()
+                && this.player.getUUID().equals(this.blockEntity.getRaidHost());
+        }
+
+        /**
+         * Gives the den back and refunds the key used to open it.
+         */
+        private void refund() {
+            if (this.player.getUUID().equals(this.blockEntity.getRaidHost()) && !this.blockEntity.hasDimension()) this.blockEntity.clearRaidHost();
+            if (this.key != null) this.player.addItem(this.key);
+        }
+
+        private void cancel() {
+            this.refund();
+            this.player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.raid.start_cancelled"));
+        }
+    }
+}
@@ -56,7 +56,9 @@ public class RaidBoss {
     private Integer healthMulti;
     private Float shinyRate;
     private Map<String, String> script;
-    private List<ResourceLocation> dens;
+    private RaidScript scriptProgram;
+    private int[] denSampler;
+    private int denGeneration;
     private UniqueKeyAdapter key;
     private Integer currency;
     private RaidAI raidAI;
@@ -81,7 +83,9 @@ public class RaidBoss {
         this.healthMulti = healthMulti;
         this.shinyRate = shinyRate;
         this.script = script;
-        this.dens = new ArrayList<>();
+        this.scriptProgram = null;
+        this.denSampler = new int[0];
+        this.denGeneration = -1;
         this.key = key;
         this.currency = currency;
         this.raidAI = raidAI;
@@ -137,9 +141,7 @@ public class RaidBoss {
         // Clear any existing maxHealthBuffer to ensure normal HP is used
         ((IHealthSetter) pokemon).clearMaxHealthBuffer();
 
-        for (SpeciesFeature form : this.raidForm) {
-            ((CustomPokemonProperty) form).apply(pokemon);
-        }
+        applyForms(this.raidForm, pokemon);
 
         this.setMoveSet(properties, pokemon, true);
         pokemon.getPersistentData().putBoolean("raid", true);
@@ -160,13 +162,17 @@ public class RaidBoss {
         return pokemonEntity;
     }
 
+    private static void applyForms(List<SpeciesFeature> forms, Pokemon pokemon) {
+        for (SpeciesFeature form : forms) {
+            ((CustomPokemonProperty) RaidBossInterner.copy(form)).apply(pokemon);
+        }
+    }
+
     public void createDisplayAspects() {
         Pokemon displayPokemon = this.baseProperties.create();
         displayPokemon.setShiny(this.shinyRate == 1.0f);
 
-        for (SpeciesFeature form : this.raidForm) {
-            ((CustomPokemonProperty) form).apply(displayPokemon);
-        }
+        applyForms(this.raidForm, displayPokemon);
 
         this.displaySpecies = displayPokemon.getSpecies();
         this.displayAspects = displayPokemon.getAspects();
@@ -200,9 +206,7 @@ public class RaidBoss {
             }
         }
 
-        for (SpeciesFeature form : this.baseForm) {
-            ((CustomPokemonProperty) form).apply(pokemon);
-        }
+        applyForms(this.baseForm, pokemon);
 
         if (this.isDynamax()) pokemon.setDmaxLevel(Cobblemon.config.getMaxDynamaxLevel());
         if (this.raidForm.stream().anyMatch(form -> form instanceof StringSpeciesFeature ssf && ssf.getValue().equals("gmax")))
@@ -299,6 +303,15 @@ public class RaidBoss {
         return this.script;
     }
 
+    public RaidScript getScriptProgram() {
+        if (this.scriptProgram == null) this.compileScript();
+        return this.scriptProgram;
+    }
+
+    public void compileScript() {
+        this.scriptProgram = RaidScript.compile(this.id, this.script);
+    }
+
     public List<String> getDens() {
         return this.densInner;
     }
@@ -320,21 +333,13 @@ public class RaidBoss {
     }
 
     public ResourceLocation getRandomDen(RandomSource random) {
-        if (this.dens.isEmpty()) this.resolveDens();
-
-        if (this.dens.size() == 1) return this.dens.getFirst();
-        else return this.dens.get(random.nextInt(this.dens.size()));
+        if (this.denGeneration != RaidDenRegistry.getGeneration()) this.compileDens();
+        return RaidDenRegistry.sampleDen(this.denSampler, random);
     }
 
-    private void resolveDens() {
-        List<ResourceLocation> validDens = new ArrayList<>();
-        for (String value : this.densInner) {
-            if (value.startsWith("#")) validDens.addAll(RaidDenRegistry.getStructures(ResourceLocation.parse(value.substring(1))));
-            else validDens.add(ResourceLocation.parse(value));
-        }
-        validDens.removeIf(RaidDenRegistry::isNotValidStructure);
-        if (validDens.isEmpty()) validDens.add(RaidDenRegistry.DEFAULT);
-        this.dens = validDens;
+    public void compileDens() {
+        this.denSampler = RaidDenRegistry.compileDens(this.densInner);
+        this.denGeneration = RaidDenRegistry.getGeneration();
     }
 
     public ResourceLocation getId() {
@@ -358,18 +363,12 @@ public class RaidBoss {
     }
 
     public void setForm(List<SpeciesFeature> raidForm, List<SpeciesFeature> baseForm) {
-        boolean appendForm = false;
+        if (raidForm == null && baseForm == null) return;
 
-        if (raidForm != null) {
-            this.raidForm = new ArrayList<>(raidForm);
-            appendForm = true;
-        }
-        if (baseForm != null) {
-            this.baseForm = baseForm;
-            appendForm = true;
-        }
-
-        if (appendForm) this.raidForm.addAll(this.baseForm);
+        List<SpeciesFeature> form = new ArrayList<>(raidForm == null ? this.raidForm : raidForm);
+        if (baseForm != null) this.baseForm = RaidBossInterner.forms(baseForm);
+        form.addAll(this.baseForm);
+        this.raidForm = RaidBossInterner.forms(form);
     }
 
     public void setType(RaidType type) {
@@ -377,7 +376,7 @@ public class RaidBoss {
     }
 
     public void setLootTable(String lootTable) {
-        this.lootTableId = lootTable;
+        this.lootTableId = RaidBossInterner.string(lootTable);
     }
 
     public void setWeight(Double weight) {
@@ -397,11 +396,13 @@ public class RaidBoss {
     }
 
     public void setScript(Map<String, String> script) {
-        this.script = script;
+        this.script = RaidBossInterner.script(script);
+        this.scriptProgram = null;
     }
 
     public void setDens(List<String> dens) {
-        this.densInner = dens;
+        this.densInner = RaidBossInterner.strings(dens);
+        this.denGeneration = -1;
     }
 
     public void setKey(UniqueKeyAdapter key) {
@@ -435,15 +436,15 @@ public class RaidBoss {
             this.raidTier,
             this.raidType,
             this.raidFeature,
-            new ArrayList<>(this.raidForm),
-            new ArrayList<>(this.baseForm),
+            this.raidForm,
+            this.baseForm,
             this.lootTableId,
             this.weight,
             this.maxCatches,
             this.healthMulti,
             this.shinyRate,
-            new HashMap<>(this.script),
-            new ArrayList<>(this.densInner),
+            this.script,
+            this.densInner,
             this.key,
             this.currency,
             this.raidAI
@@ -491,7 +492,7 @@ public class RaidBoss {
                 if (!ability.isBlank()) properties.setAbility(ability);
                 if (!nature.isBlank()) properties.setNature(nature);
                 if (level > 0) properties.setLevel(level);
-                if (!moves.isEmpty()) properties.setMoves(moves);
+                if (!moves.isEmpty()) properties.setMoves(RaidBossInterner.strings(moves));
                 return properties;
             })
         );
@@ -562,7 +563,11 @@ public class RaidBoss {
                 if (raidAIString.isEmpty()) raidAI = tierConfig.raidAI();
                 else raidAI = RaidAI.fromString(raidAIString);
 
-                return new RaidBoss(properties, tier, type, feature, raidForm, baseForm, bonusItems, weight, maxCatches, healthMulti, shinyRate, script, dens, key, currency, raidAI);
+                return new RaidBoss(
+                    properties, tier, type, feature, RaidBossInterner.forms(raidForm), RaidBossInterner.forms(baseForm),
+                    RaidBossInterner.string(bonusItems), weight, maxCatches, healthMulti, shinyRate,
+                    RaidBossInterner.script(script), RaidBossInterner.strings(dens), key, currency, raidAI
+                );
             })
         );
     }
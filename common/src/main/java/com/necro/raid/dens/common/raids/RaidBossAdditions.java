@@ -9,6 +9,7 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.config.TierConfig;
 import com.necro.raid.dens.common.data.UniqueKeyAdapter;
+import com.necro.raid.dens.common.util.RaidBossInterner;
 import com.necro.raid.dens.common.util.RaidRegistry;
 import net.minecraft.resources.ResourceLocation;
 
@@ -75,7 +76,7 @@ public class RaidBossAdditions {
                 if (properties.getAbility() != null) boss.getProperties().setAbility(properties.getAbility());
                 if (properties.getNature() != null) boss.getProperties().setNature(properties.getNature());
                 if (properties.getLevel() != null) boss.getProperties().setLevel(properties.getLevel());
-                if (properties.getMoves() != null) boss.getProperties().setMoves(properties.getMoves());
+                if (properties.getMoves() != null) boss.getProperties().setMoves(RaidBossInterner.strings(properties.getMoves()));
                 if (properties.getTeraType() != null) boss.getProperties().setTeraType(properties.getTeraType());
             }
 
@@ -286,8 +287,9 @@ public class RaidBossAdditions {
                 }
 
                 return new RaidBoss(
-                    p, t, type.orElse(null), feature.orElse(null), rf, baseForm.orElse(null),
-                    bonusItems.orElse(null), weight.orElse(null), mc, hm, sr, s, dens.orElse(null),
+                    p, t, type.orElse(null), feature.orElse(null), RaidBossInterner.forms(rf), RaidBossInterner.forms(baseForm.orElse(null)),
+                    RaidBossInterner.string(bonusItems.orElse(null)), weight.orElse(null), mc, hm, sr,
+                    RaidBossInterner.script(s), RaidBossInterner.strings(dens.orElse(null)),
                     key.orElse(null), c, raidAI.orElse(null)
                 );
             })
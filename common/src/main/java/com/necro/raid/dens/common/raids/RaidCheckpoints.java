@@ -0,0 +1,364 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import com.necro.raid.dens.common.dimensions.DimensionHelper;
+import com.necro.raid.dens.common.dimensions.ModDimensions;
+import com.necro.raid.dens.common.util.RaidRegistry;
+import net.minecraft.Util;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A small journal of every open raid den, so a crash or restart does not leave raid dimensions and crystals in limbo.
+ * A den is journalled when its raid starts and dropped when it closes, and the boss health, timer and participant
+ * progress of its raid are checkpointed every {@code raid_checkpoint_interval} seconds. The journal is written off
+ * the server thread to a temporary file that then replaces the old one, so a crash mid-write keeps the last good
+ * checkpoint.
+ * <p>
+ * On the first tick after startup, each journalled den is either resumed or rolled back. A resumed den gets its raid
+ * dimension back and the next raid started on its boss picks up the checkpointed progress, counting the damage dealt
+ * in battles the restart cut short as if those battles had been lost. A rolled back den frees its host and
+ * participants, and its dimension is removed together with any other raid dimension no open den owns. Nothing is
+ * removed when there was no journal to recover from or it could not be read.
+ */
+public class RaidCheckpoints {
+    private static final Map<UUID, Checkpoint> OPEN = new HashMap<>();
+    private static final Map<UUID, Checkpoint> RECOVERED = new HashMap<>();
+    private static final Set<UUID> ROLLED_BACK = new HashSet<>();
+    private static CompletableFuture<?> WRITING = CompletableFuture.completedFuture(null);
+
+    private static Path PATH = null;
+    private static boolean DIRTY = false;
+    private static boolean URGENT = false;
+    private static int TICKS = 0;
+
+    public static void tick(MinecraftServer server) {
+        if (PATH == null) {
+            if (RaidHelper.INSTANCE == null) return;
+            recover(server);
+        }
+
+        if (++TICKS >= Math.max(1, CobblemonRaidDens.CONFIG.raid_checkpoint_interval) * 20) {
+            TICKS = 0;
+            checkpointRaids();
+            if (DIRTY) write();
+        }
+        else if (URGENT) write();
+    }
+
+    private static void checkpointRaids() {
+        for (RaidInstance raid : RaidHelper.ACTIVE_RAIDS.values()) {
+            Checkpoint checkpoint = OPEN.get(raid.getHost());
+            if (checkpoint == null || raid.hasEnded()) continue;
+            raid.checkpoint(checkpoint);
+            DIRTY = true;
+        }
+    }
+
+    /**
+     * Journals a den whose raid has just started.
+     */
+    public static void open(RaidCrystalBlockEntity blockEntity) {
+        if (blockEntity.getRaidHost() == null || blockEntity.getLevel() == null) return;
+        Checkpoint checkpoint = new Checkpoint(
+            blockEntity.getRaidHost(), blockEntity.getUuid(), blockEntity.getLevel().dimension().location(),
+            blockEntity.getBlockPos().asLong(), blockEntity.getRaidBossLocation()
+        );
+        OPEN.put(checkpoint.host, checkpoint);
+        URGENT = true;
+    }
+
+    public static void close(@Nullable UUID host) {
+        if (host == null) return;
+        RECOVERED.remove(host);
+        if (OPEN.remove(host) != null) URGENT = true;
+    }
+
+    /**
+     * The checkpoint a raid on the boss in this raid dimension should resume from, if any. Only handed out once.
+     */
+    public static @Nullable Checkpoint takeRecovered(@Nullable UUID host) {
+        return host == null ? null : RECOVERED.remove(host);
+    }
+
+    /**
+     * Whether the den hosted by this player was rolled back at startup, so its crystal can let go of the raid without
+     * waiting for the dimension to appear.
+     */
+    public static boolean isRolledBack(@Nullable UUID host) {
+        return host != null && ROLLED_BACK.contains(host);
+    }
+
+    private static void write() {
+        DIRTY = false;
+        URGENT = false;
+        if (PATH == null) return;
+
+        CompoundTag compoundTag = new CompoundTag();
+        ListTag dens = new ListTag();
+        OPEN.values().forEach(checkpoint -> dens.add(checkpoint.save()));
+        compoundTag.put("dens", dens);
+
+        Path path = PATH;
+        WRITING = WRITING.thenRunAsync(() -> {
+            try {
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                NbtIo.writeCompressed(compoundTag, temp);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException e) {
+                CobblemonRaidDens.LOGGER.error("Could not write raid checkpoints", e);
+            }
+        }, Util.ioPool());
+    }
+
+    private static void recover(MinecraftServer server) {
+        Path worldPath = server.getWorldPath(LevelResource.ROOT);
+        PATH = worldPath.resolve("data").resolve(CobblemonRaidDens.MOD_ID + "_raids.dat");
+
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        boolean journalled = Files.exists(PATH);
+        try {
+            if (journalled) {
+                CompoundTag compoundTag = NbtIo.readCompressed(PATH, NbtAccounter.unlimitedHeap());
+                for (Tag t : compoundTag.getList("dens", Tag.TAG_COMPOUND)) {
+                    Checkpoint checkpoint = Checkpoint.load((CompoundTag) t);
+                    if (checkpoint != null) checkpoints.add(checkpoint);
+                }
+            }
+        }
+        catch (IOException e) {
+            CobblemonRaidDens.LOGGER.error("Could not read raid checkpoints, leaving raid dimensions in place", e);
+            journalled = false;
+        }
+
+        Set<String> kept = new HashSet<>();
+        int resumed = 0;
+        for (Checkpoint checkpoint : checkpoints) {
+            ResourceKey<Level> levelKey = ModDimensions.createLevelKey(checkpoint.host.toString());
+            File folder = DimensionType.getStorageFolder(levelKey, worldPath).toFile();
+            boolean canResume = CobblemonRaidDens.CONFIG.resume_interrupted_raids
+                && folder.isDirectory() && checkpoint.boss != null && RaidRegistry.exists(checkpoint.boss)
+                && DimensionHelper.RESTORE_DIMENSION != null;
+
+            if (canResume) {
+                try {
+                    DimensionHelper.RESTORE_DIMENSION.apply(server, levelKey);
+                    OPEN.put(checkpoint.host, checkpoint);
+                    RECOVERED.put(checkpoint.host, checkpoint);
+                    kept.add(checkpoint.host.toString());
+                    resumed++;
+                    continue;
+                }
+                catch (Throwable e) {
+                    CobblemonRaidDens.LOGGER.error("Could not restore raid dimension {}", levelKey.location(), e);
+                }
+            }
+
+            RaidHelper.removeHost(checkpoint.host);
+            RaidHelper.finishRaid(new HashSet<>(checkpoint.players));
+            ROLLED_BACK.add(checkpoint.host);
+        }
+
+        // Without a readable journal there is no telling which raids were open, such as on the first start after updating
+        int removed = journalled ? removeOrphanedDimensions(server, worldPath, kept) : 0;
+        CobblemonRaidDens.LOGGER.info("Recovered raid checkpoints: {} resumed, {} rolled back, {} dimension folders removed",
+            resumed, checkpoints.size() - resumed, removed);
+        URGENT = true;
+    }
+
+    /**
+     * Removes every raid dimension no open den owns. Dimensions that are still registered go through the usual
+     * removal, which unregisters them before deleting their folder; only folders without a live level are deleted here.
+     */
+    private static int removeOrphanedDimensions(MinecraftServer server, Path worldPath, Set<String> kept) {
+        ResourceKey<Level> sample = ModDimensions.createLevelKey("_");
+        File root = DimensionType.getStorageFolder(sample, worldPath).toFile().getParentFile();
+        File[] folders = root.listFiles(File::isDirectory);
+        if (folders == null) return 0;
+
+        List<File> orphans = new ArrayList<>();
+        int removed = 0;
+        for (File folder : folders) {
+            if (kept.contains(folder.getName())) continue;
+            ResourceLocation location = ResourceLocation.tryBuild(CobblemonRaidDens.MOD_ID, folder.getName());
+            ServerLevel level = location == null ? null : server.getLevel(ModDimensions.createLevelKey(location));
+            if (level == null) orphans.add(folder);
+            else {
+                DimensionHelper.queueForRemoval(level.dimension(), level);
+                DimensionHelper.SYNC_DIMENSIONS.accept(server, level.dimension(), false);
+                removed++;
+            }
+        }
+        if (orphans.isEmpty()) return removed;
+
+        WRITING = WRITING.thenRunAsync(() -> {
+            for (File folder : orphans) {
+                try {
+                    FileUtils.deleteDirectory(folder);
+                }
+                catch (IOException e) {
+                    CobblemonRaidDens.LOGGER.error("Could not delete raid dimension folder {}", folder, e);
+                }
+            }
+        }, Util.ioPool());
+        return removed + orphans.size();
+    }
+
+    /**
+     * Writes a last checkpoint of every raid and waits for all journal work to finish.
+     */
+    public static void clear() {
+        if (PATH != null) {
+            checkpointRaids();
+            write();
+        }
+        WRITING.join();
+        OPEN.clear();
+        RECOVERED.clear();
+        ROLLED_BACK.clear();
+        PATH = null;
+        DIRTY = false;
+        URGENT = false;
+        TICKS = 0;
+    }
+
+    public static class Checkpoint {
+        private final UUID host;
+        private final UUID den;
+        private final ResourceLocation dimension;
+        private final long pos;
+        private final @Nullable ResourceLocation boss;
+
+        private float healthRatio;
+        private int remainingTicks;
+        private final List<UUID> players;
+        private float[] battleHp;
+        private int[] cheers;
+
+        private Checkpoint(UUID host, UUID den, ResourceLocation dimension, long pos, @Nullable ResourceLocation boss) {
+            this.host = host;
+            this.den = den;
+            this.dimension = dimension;
+            this.pos = pos;
+            this.boss = boss;
+            this.healthRatio = 1.0f;
+            this.remainingTicks = -1;
+            this.players = new ArrayList<>();
+            this.battleHp = new float[0];
+            this.cheers = new int[0];
+        }
+
+        void record(float healthRatio, int remainingTicks, RaidParticipants participants) {
+            this.healthRatio = healthRatio;
+            this.remainingTicks = remainingTicks;
+            this.players.clear();
+            this.battleHp = new float[participants.size()];
+            this.cheers = new int[participants.size()];
+            for (int i = 0; i < participants.size(); i++) {
+                this.players.add(participants.getPlayer(i).getUUID());
+                this.battleHp[i] = participants.getTrackedHp(i, Float.NaN);
+                this.cheers[i] = participants.getCheers(i);
+            }
+        }
+
+        /**
+         * Puts a returning participant's cheers back. Returns false if they were not in the raid.
+         */
+        boolean restore(RaidParticipants participants, int index) {
+            int i = this.players.indexOf(participants.getPlayer(index).getUUID());
+            if (i < 0) return false;
+            participants.setCheers(index, this.cheers[i]);
+            return true;
+        }
+
+        /**
+         * The damage dealt in battles that were still running at the checkpoint. Battles only drain the shared pool
+         * when they end, so without this a restart would throw that progress away.
+         */
+        float getInterruptedDamage(float initMaxHealth) {
+            float damage = 0f;
+            for (float hp : this.battleHp) {
+                if (!Float.isNaN(hp) && hp < initMaxHealth) damage += initMaxHealth - Math.max(0f, hp);
+            }
+            return damage;
+        }
+
+        public float getHealthRatio() {
+            return this.healthRatio;
+        }
+
+        public int getRemainingTicks() {
+            return this.remainingTicks;
+        }
+
+        private CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putUUID("host", this.host);
+            tag.putUUID("den", this.den);
+            tag.putString("dimension", this.dimension.toString());
+            tag.putLong("pos", this.pos);
+            if (this.boss != null) tag.putString("boss", this.boss.toString());
+            tag.putFloat("health", this.healthRatio);
+            tag.putInt("remaining", this.remainingTicks);
+
+            long[] players = new long[this.players.size() * 2];
+            for (int i = 0; i < this.players.size(); i++) {
+                players[i * 2] = this.players.get(i).getMostSignificantBits();
+                players[i * 2 + 1] = this.players.get(i).getLeastSignificantBits();
+            }
+            tag.put("players", new LongArrayTag(players));
+            ListTag battleHp = new ListTag();
+            for (float hp : this.battleHp) battleHp.add(FloatTag.valueOf(hp));
+            tag.put("battle_hp", battleHp);
+            tag.putIntArray("cheers", this.cheers);
+            return tag;
+        }
+
+        private static @Nullable Checkpoint load(CompoundTag tag) {
+            if (!tag.hasUUID("host") || !tag.hasUUID("den")) return null;
+            ResourceLocation dimension = ResourceLocation.tryParse(tag.getString("dimension"));
+            if (dimension == null) return null;
+
+            Checkpoint checkpoint = new Checkpoint(
+                tag.getUUID("host"), tag.getUUID("den"), dimension, tag.getLong("pos"),
+                tag.contains("boss") ? ResourceLocation.tryParse(tag.getString("boss")) : null
+            );
+            checkpoint.healthRatio = tag.getFloat("health");
+            checkpoint.remainingTicks = tag.getInt("remaining");
+
+            long[] players = tag.getLongArray("players");
+            for (int i = 0; i + 1 < players.length; i += 2) checkpoint.players.add(new UUID(players[i], players[i + 1]));
+            ListTag battleHp = tag.getList("battle_hp", Tag.TAG_FLOAT);
+            checkpoint.battleHp = new float[checkpoint.players.size()];
+            for (int i = 0; i < checkpoint.battleHp.length; i++) {
+                checkpoint.battleHp[i] = i < battleHp.size() ? battleHp.getFloat(i) : Float.NaN;
+            }
+            checkpoint.cheers = Arrays.copyOf(tag.getIntArray("cheers"), checkpoint.players.size());
+            return checkpoint;
+        }
+    }
+}
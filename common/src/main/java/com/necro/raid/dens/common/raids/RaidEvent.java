@@ -0,0 +1,64 @@
+package com.necro.raid.dens.common.raids;
+
+import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
+import com.necro.raid.dens.common.util.IRaidBattle;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Something that happened in a raid battle, posted from the battle callbacks and applied to the raid on its tick.
+ */
+public interface RaidEvent {
+    void apply(RaidInstance raid);
+
+    /**
+     * The boss's HP in one player's battle changed through damage or healing.
+     */
+    record BattleHp(ServerPlayer player, float remainingHealth) implements RaidEvent {
+        @Override
+        public void apply(RaidInstance raid) {
+            raid.trackBattleHp(this.player, this.remainingHealth);
+        }
+    }
+
+    /**
+     * A player knocked out the boss in their battle.
+     */
+    record BossFainted(ServerPlayer player, PokemonBattle battle) implements RaidEvent {
+        @Override
+        public void apply(RaidInstance raid) {
+            raid.onBossFainted(this.player, this.battle);
+        }
+    }
+
+    /**
+     * A player fled or lost their battle, optionally keeping the damage they dealt in it.
+     */
+    record BattleLeft(ServerPlayer player, boolean partialDamage) implements RaidEvent {
+        @Override
+        public void apply(RaidInstance raid) {
+            if (this.partialDamage) raid.applyPartialDamage(this.player);
+            raid.removePlayer(this.player);
+        }
+    }
+
+    /**
+     * A battle started a new turn, for turn-based scripts. Skipped if the battle has left the raid since.
+     */
+    record TurnStarted(PokemonBattle battle, int turn) implements RaidEvent {
+        @Override
+        public void apply(RaidInstance raid) {
+            if (((IRaidBattle) this.battle).getRaidBattle() != raid) return;
+            raid.runScriptByTurn(this.battle, this.turn);
+        }
+    }
+
+    /**
+     * A player's Pokemon used a move, for the raid log.
+     */
+    record MoveUsed(String pokemon, String move) implements RaidEvent {
+        @Override
+        public void apply(RaidInstance raid) {
+            raid.getRaidLog().add(this.pokemon, this.move);
+        }
+    }
+}
@@ -72,13 +72,10 @@ public class RaidExitHelper {
      * This cleans up: boss bar, battle tracking, damage cache, cheers, etc.
      */
     private static void removePlayerFromActiveRaid(ServerPlayer player, ServerLevel raidLevel) {
-        // Find active raid instances and remove player
-        for (RaidInstance raid : RaidHelper.ACTIVE_RAIDS.values()) {
-            if (raid.getPlayers().contains(player)) {
-                raid.removePlayerCompletely(player);
-                break;
-            }
-        }
+        UUID raidId = SharedHealthRaid.MEMBERSHIP.getRaid(player.getUUID());
+        if (raidId == null) return;
+        RaidInstance raid = RaidHelper.ACTIVE_RAIDS.get(raidId);
+        if (raid != null) raid.removePlayerCompletely(player);
     }
 
     private static boolean isAlive(LivingEntity entity) {
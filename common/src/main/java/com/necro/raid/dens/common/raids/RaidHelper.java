@@ -5,7 +5,10 @@ import com.cobblemon.mod.common.api.battles.model.actor.BattleActor;
 import com.cobblemon.mod.common.util.PlayerExtensionsKt;
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
+import com.necro.raid.dens.common.journal.RaidJournal;
 import com.necro.raid.dens.common.util.IRaidBattle;
+import com.necro.raid.dens.common.util.RaidScheduler;
+import com.necro.raid.dens.common.util.collections.UuidSet;
 import kotlin.Pair;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.HolderLookup;
@@ -17,6 +20,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.DimensionDataStorage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,16 +34,20 @@ public class RaidHelper extends SavedData {
     public static final Map<UUID, RequestHandler> REQUEST_QUEUE = new HashMap<>();
     public static final Map<UUID, RewardHandler> REWARD_QUEUE = new HashMap<>();
 
-    public final Set<UUID> RAID_HOSTS = new HashSet<>();
-    public final Set<UUID> RAID_PARTICIPANTS = new HashSet<>();
-    public final Map<UUID, Set<UUID>> CLEARED_RAIDS = new HashMap<>();
+    public final UuidSet RAID_HOSTS = new UuidSet();
+    public final UuidSet RAID_PARTICIPANTS = new UuidSet();
+    private final ClearedRaidShard[] clearedRaidShards = new ClearedRaidShard[ClearedRaidShard.SHARD_COUNT];
+    private final BitSet missingShards = new BitSet(ClearedRaidShard.SHARD_COUNT);
+    private final Map<UUID, Set<UUID>> legacyClearedRaids = new HashMap<>();
+    private DimensionDataStorage storage;
 
     public static boolean isInQueue(Player player) {
         return JOIN_QUEUE.containsKey(player);
     }
 
     public static void addToQueue(Player player, @Nullable ItemStack key) {
-        JOIN_QUEUE.put(player, new JoinRequestInstance(player, key));
+        JoinRequestInstance previous = JOIN_QUEUE.put(player, new JoinRequestInstance(player, key));
+        if (previous != null) previous.cancelTimeout();
     }
 
     public static void initRequest(ServerPlayer host, RaidCrystalBlockEntity blockEntity) {
@@ -73,31 +81,62 @@ public class RaidHelper extends SavedData {
     }
 
     public static boolean hasClearedRaid(UUID uuid, Player player) {
-        Set<UUID> cleared = INSTANCE.CLEARED_RAIDS.getOrDefault(uuid, new HashSet<>());
-        return cleared.contains(player.getUUID());
+        ClearedRaidShard shard = INSTANCE.getShard(ClearedRaidShard.getShard(uuid), false);
+        return shard != null && shard.hasCleared(uuid, player.getUUID());
     }
 
-    public static void clearRaid(UUID uuid, Collection<UUID> players) {
-        if (!INSTANCE.CLEARED_RAIDS.containsKey(uuid)) INSTANCE.CLEARED_RAIDS.put(uuid, new HashSet<>());
-        INSTANCE.CLEARED_RAIDS.get(uuid).addAll(players);
-        INSTANCE.setDirty();
+    public static void clearRaid(UUID uuid, Collection<UUID> players, @Nullable ClearedRaidShard.DenLocation location) {
+        INSTANCE.getShard(ClearedRaidShard.getShard(uuid), true).addClears(uuid, players, location);
     }
 
     public static void resetClearedRaids(UUID uuid) {
         if (INSTANCE == null) return;
-        INSTANCE.CLEARED_RAIDS.remove(uuid);
-        INSTANCE.setDirty();
+        ClearedRaidShard shard = INSTANCE.getShard(ClearedRaidShard.getShard(uuid), false);
+        if (shard != null) shard.reset(uuid);
     }
 
     public static void resetPlayerClearedRaid(UUID uuid, UUID player) {
-        if (!INSTANCE.CLEARED_RAIDS.containsKey(uuid)) return;
-        INSTANCE.CLEARED_RAIDS.get(uuid).remove(player);
-        INSTANCE.setDirty();
+        ClearedRaidShard shard = INSTANCE.getShard(ClearedRaidShard.getShard(uuid), false);
+        if (shard != null) shard.reset(uuid, player);
     }
 
     public static void resetPlayerAllClearedRaids(UUID player) {
-        INSTANCE.CLEARED_RAIDS.values().forEach(playerSet -> playerSet.remove(player));
-        INSTANCE.setDirty();
+        for (int i = 0; i < ClearedRaidShard.SHARD_COUNT; i++) {
+            ClearedRaidShard shard = INSTANCE.getShard(i, false);
+            if (shard != null) shard.resetPlayer(player);
+        }
+    }
+
+    static @Nullable ClearedRaidShard getClearedRaidShard(int index) {
+        return INSTANCE.getShard(index, false);
+    }
+
+    /**
+     * The cleared raid shard with the given index, read from disk on first use. Without {@code create}, a shard with
+     * no data file is remembered as missing so it is not looked up again until something is written to it.
+     */
+    private @Nullable ClearedRaidShard getShard(int index, boolean create) {
+        ClearedRaidShard shard = this.clearedRaidShards[index];
+        if (shard != null) return shard;
+        else if (!create && this.missingShards.get(index)) return null;
+
+        String name = ClearedRaidShard.getName(index);
+        shard = create ? this.storage.computeIfAbsent(ClearedRaidShard.type(), name) : this.storage.get(ClearedRaidShard.type(), name);
+        if (shard == null) this.missingShards.set(index);
+        else this.clearedRaidShards[index] = shard;
+        return shard;
+    }
+
+    /**
+     * Moves clear records read from the old single-file format into their shards. The main file stops writing them
+     * on its next save.
+     */
+    private void migrateLegacyClears() {
+        if (this.legacyClearedRaids.isEmpty()) return;
+        this.legacyClearedRaids.forEach((uuid, players) -> this.getShard(ClearedRaidShard.getShard(uuid), true).addClears(uuid, players, null));
+        CobblemonRaidDens.LOGGER.info("Migrated {} cleared raid records to sharded storage", this.legacyClearedRaids.size());
+        this.legacyClearedRaids.clear();
+        this.setDirty();
     }
 
     public static boolean isAlreadyHosting(Player player) {
@@ -133,6 +172,7 @@ public class RaidHelper extends SavedData {
 
     public static void onPlayerDisconnect(Player player) {
         refundItem(player);
+        RaidAdmission.cancel(player);
         fleeRaidBattle(player);
     }
 
@@ -148,24 +188,32 @@ public class RaidHelper extends SavedData {
         PokemonBattle battle = pair.getFirst();
         RaidInstance raid = ((IRaidBattle) battle).getRaidBattle();
         if (raid == null) return;
-        raid.removePlayer((ServerPlayer) player, battle);
+        raid.leaveBattle((ServerPlayer) player, battle, false);
     }
 
     public static void onServerClose() {
         JOIN_QUEUE.forEach((player, instance) -> instance.refundItem());
         JOIN_QUEUE.clear();
-    }
-
-    public static void serverTick() {
-        JOIN_QUEUE.values().removeIf(instance -> !instance.tick());
-    }
-
-    public static void commonTick() {
-        List<RaidInstance> raids = new ArrayList<>(ACTIVE_RAIDS.values());
-        raids.forEach(RaidInstance::tick);
-        
-        // Tick all active coop raids
-        CoopRaidSession.tickAllRaids();
+        RaidCheckpoints.clear();
+        RewardLedger.clear();
+        RaidJournal.close();
+        DenIndex.clear();
+        DenAdminJobs.clear();
+        SharedHealthRaid.clear();
+        RaidAdmission.clear();
+        ClearedRaidCompactor.clear();
+    }
+
+    public static void commonTick(MinecraftServer server) {
+        RaidScheduler.tick();
+        SharedHealthRaid.tickAll();
+        RaidAdmission.tick(server);
+        ClearedRaidCompactor.tick(server);
+        RaidCheckpoints.tick(server);
+        RewardLedger.tick();
+        RaidJournal.flush();
+        DenIndex.tick();
+        DenAdminJobs.tick();
     }
 
     public static Component getSystemMessage(String translatable) {
@@ -179,7 +227,7 @@ public class RaidHelper extends SavedData {
     public static class JoinRequestInstance {
         private final Player player;
         private final ItemStack itemStack;
-        private int tick;
+        private final RaidScheduler.Task timeout;
 
         public JoinRequestInstance(Player player, @Nullable ItemStack itemStack) {
             this.player = player;
@@ -188,19 +236,21 @@ public class RaidHelper extends SavedData {
                 this.itemStack = itemStack.copy();
                 this.itemStack.setCount(1);
             }
-            this.tick = 0;
+            this.timeout = RaidScheduler.schedule(1200, this::timeOut);
         }
 
         public void refundItem() {
             if (this.itemStack != null) player.addItem(this.itemStack);
         }
 
-        public boolean tick() {
-            if (++this.tick > 1200) {
-                this.player.sendSystemMessage(getSystemMessage("message.cobblemonraiddens.raid.request_time_out"));
-                return false;
-            }
-            return true;
+        public void cancelTimeout() {
+            this.timeout.cancel();
+        }
+
+        private void timeOut() {
+            if (JOIN_QUEUE.get(this.player) != this) return;
+            JOIN_QUEUE.remove(this.player);
+            this.player.sendSystemMessage(getSystemMessage("message.cobblemonraiddens.raid.request_time_out"));
         }
     }
 
@@ -211,6 +261,10 @@ public class RaidHelper extends SavedData {
     public static RaidHelper load(CompoundTag compoundTag, HolderLookup.Provider provider) {
         RaidHelper data = create();
 
+        data.RAID_HOSTS.addAll(compoundTag.getLongArray("hosts"));
+        data.RAID_PARTICIPANTS.addAll(compoundTag.getLongArray("participants"));
+
+        // Data from before sharded storage
         if (compoundTag.contains("raid_hosts")) {
             compoundTag.getList("raid_hosts", Tag.TAG_STRING).forEach(host -> data.RAID_HOSTS.add(UUID.fromString(host.getAsString())));
         }
@@ -229,7 +283,7 @@ public class RaidHelper extends SavedData {
             for (Tag uuidTag : uuidList) {
                 players.add(NbtUtils.loadUUID(uuidTag));
             }
-            data.CLEARED_RAIDS.put(UUID.fromString(uuid), players);
+            data.legacyClearedRaids.put(UUID.fromString(uuid), players);
         }
 
         return data;
@@ -237,34 +291,20 @@ public class RaidHelper extends SavedData {
 
     public static void initHelper(MinecraftServer server) {
         INSTANCE = server.overworld().getDataStorage().computeIfAbsent(RaidHelper.type(), CobblemonRaidDens.MOD_ID);
+        INSTANCE.storage = server.overworld().getDataStorage();
+        INSTANCE.migrateLegacyClears();
+        RewardLedger.load(server);
+        RaidJournal.open(server);
+        DenIndex.load(server);
         INSTANCE.setDirty();
     }
 
     @Override
     public @NotNull CompoundTag save(CompoundTag compoundTag, HolderLookup.Provider provider) {
-        ListTag raidHostsTag = new ListTag();
-        RAID_HOSTS.forEach(uuid -> raidHostsTag.add(StringTag.valueOf(uuid.toString())));
-        compoundTag.put("raid_hosts", raidHostsTag);
-
-        ListTag raidParticipantsTag = new ListTag();
-        RAID_PARTICIPANTS.forEach(uuid -> raidParticipantsTag.add(StringTag.valueOf(uuid.toString())));
-        compoundTag.put("raid_participants", raidParticipantsTag);
-
-        ListTag clearedRaidsTag = new ListTag();
-        for (Map.Entry<UUID, Set<UUID>> entry : CLEARED_RAIDS.entrySet()) {
-            CompoundTag e = new CompoundTag();
-            e.putString("uuid", entry.getKey().toString());
-
-            ListTag uuidList = new ListTag();
-            for (UUID uuid : entry.getValue()) {
-                uuidList.add(NbtUtils.createUUID(uuid));
-            }
-            e.put("players", uuidList);
-
-            clearedRaidsTag.add(e);
-        }
-        compoundTag.put("cleared_raids", clearedRaidsTag);
-
+        // Cleared raids are saved by their own shards, and rewards by their ledger
+        RewardLedger.commitClaims();
+        compoundTag.put("hosts", new LongArrayTag(RAID_HOSTS.toLongArray()));
+        compoundTag.put("participants", new LongArrayTag(RAID_PARTICIPANTS.toLongArray()));
         return compoundTag;
     }
 
@@ -0,0 +1,56 @@
+package com.necro.raid.dens.common.raids;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hands events from battle callbacks over to the raid tick. Any thread may post; only the server thread drains, and
+ * events come out in the order their posts completed. Posting swaps a node onto the tail and links the old tail to
+ * it, so producers never lock or retry.
+ */
+public class RaidInbox<T> {
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;
+
+    public RaidInbox() {
+        Node<T> stub = new Node<>(null);
+        this.tail = new AtomicReference<>(stub);
+        this.head = stub;
+    }
+
+    public void post(T event) {
+        Node<T> node = new Node<>(event);
+        Node<T> previous = this.tail.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Passes every event posted so far to the consumer. A post caught between swapping the tail and linking it is
+     * picked up on the next drain.
+     */
+    public int drain(Consumer<T> consumer) {
+        int drained = 0;
+        Node<T> next;
+        while ((next = this.head.next) != null) {
+            T event = next.event;
+            next.event = null;
+            this.head = next;
+            consumer.accept(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return this.head.next == null;
+    }
+
+    private static class Node<T> {
+        private T event;
+        private volatile Node<T> next;
+
+        private Node(T event) {
+            this.event = event;
+        }
+    }
+}
@@ -18,7 +18,7 @@ import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.config.TierConfig;
 import com.necro.raid.dens.common.events.RaidEndEvent;
 import com.necro.raid.dens.common.events.RaidEvents;
-import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import com.necro.raid.dens.common.journal.RaidJournal;
 import com.necro.raid.dens.common.showdown.RaidBagItems;
 import com.necro.raid.dens.common.showdown.bagitems.CheerBagItem;
 import com.necro.raid.dens.common.showdown.bagitems.PlayerJoinBagItem;
@@ -26,6 +26,8 @@ import com.necro.raid.dens.common.showdown.bagitems.StatChangeBagItem;
 import com.necro.raid.dens.common.util.IHealthSetter;
 import com.necro.raid.dens.common.util.IRaidAccessor;
 import com.necro.raid.dens.common.util.IRaidBattle;
+import com.necro.raid.dens.common.util.RaidScheduler;
+import com.necro.raid.dens.common.util.collections.UuidSet;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -34,47 +36,50 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.BossEvent;
 import net.minecraft.world.entity.player.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiConsumer;
 
-public class RaidInstance {
+/**
+ * The classic raid mode. Every participant fights the boss in their own battle, and the damage each battle deals to
+ * the boss is drained from the shared health pool.
+ */
+public class RaidInstance extends SharedHealthRaid {
     private static final Map<String, BiConsumer<RaidInstance, PokemonBattle>> INSTRUCTION_MAP = new HashMap<>();
 
-    private final PokemonEntity bossEntity;
-    private final RaidBoss raidBoss;
-    private final ServerBossEvent bossEvent;
     private final List<PokemonBattle> battles;
-    private final Map<UUID, Float> damageCache;
-    private final List<ServerPlayer> activePlayers;
-    private final List<UUID> failedPlayers;
+    private final UuidSet failedPlayers;
+    private final RaidLog raidLog;
+    private final RaidInbox<RaidEvent> inbox;
+    private float pendingDamage;
 
-    private float currentHealth;
-    private float maxHealth;
     private final float initMaxHealth;
-    private final Map<Integer, String> scriptByTurn;
-    private final NavigableMap<Double, String> scriptByHp;
+    private final RaidScript script;
+    private final BitSet turnsRun;
+    private int hpCursor;
 
-    private final Map<UUID, Integer> cheersLeft;
-    private final List<DelayedRunnable> runQueue;
-    
-    // Raid timer fields
-    private int raidTimerTicks;
-    private final int raidMaxTicks;
+    private final RaidScheduler.Task levelCheck;
+    private RaidScheduler.Task stopTask;
+    private final UUID host;
+    private final RaidCheckpoints.Checkpoint recovered;
+    private final RaidJournal.Timings timings;
 
     public RaidInstance(PokemonEntity entity) {
-        this.bossEntity = entity;
-        this.raidBoss = ((IRaidAccessor) entity).getRaidBoss();
-        this.bossEvent = new ServerBossEvent(
-            ((MutableComponent) entity.getName()).withStyle(ChatFormatting.BOLD).withStyle(ChatFormatting.WHITE),
-            BossEvent.BossBarColor.WHITE, BossEvent.BossBarOverlay.NOTCHED_10
+        super(
+            entity, ((IRaidAccessor) entity).getRaidBoss(),
+            new ServerBossEvent(
+                ((MutableComponent) entity.getName()).withStyle(ChatFormatting.BOLD).withStyle(ChatFormatting.WHITE),
+                BossEvent.BossBarColor.WHITE, BossEvent.BossBarOverlay.NOTCHED_10
+            ),
+            CobblemonRaidDens.CONFIG.coop_raid_duration_seconds * 20
         );
 
         this.battles = new ArrayList<>();
-        this.damageCache = new HashMap<>();
-
-        this.activePlayers = new ArrayList<>();
-        this.failedPlayers = new ArrayList<>();
+        this.failedPlayers = new UuidSet();
+        this.raidLog = new RaidLog();
+        this.inbox = new RaidInbox<>();
+        this.pendingDamage = 0f;
 
         // Clear any modified HP buffer to get the REAL Pokemon HP
         ((IHealthSetter) entity.getPokemon()).clearMaxHealthBuffer();
@@ -87,35 +92,20 @@ public class RaidInstance {
         entity.getPokemon().setCurrentHealth(entity.getPokemon().getMaxHealth());
         entity.setHealth(entity.getMaxHealth());
 
-        this.scriptByTurn = new HashMap<>();
-        this.scriptByHp = new TreeMap<>();
-        raidBoss.getScript().forEach((key, func) -> {
-            if (!INSTRUCTION_MAP.containsKey(func)) return;
-            try {
-                if (key.startsWith("turn:")) {
-                    this.scriptByTurn.put(Integer.parseInt(key.split(":")[1]), func);
-                }
-                else if (key.startsWith("hp:")) {
-                    double threshold = Double.parseDouble(key.split(":")[1]);
-                    if ((this.currentHealth / this.maxHealth) < threshold) return;
-                    this.scriptByHp.put(threshold, func);
-                }
-            }
-            catch (Exception ignored) {}
-        });
+        this.script = this.raidBoss.getScriptProgram();
+        this.turnsRun = new BitSet(this.script.getTurnCount());
+        this.hpCursor = 0;
+        double startRatio = this.currentHealth / this.maxHealth;
+        while (this.hpCursor < this.script.getHpCount() && this.script.getHpThreshold(this.hpCursor) > startRatio) this.hpCursor++;
 
-        this.cheersLeft = new HashMap<>();
-        this.runQueue = new ArrayList<>();
-        this.runQueue.add(new DelayedRunnable(() -> {
+        this.levelCheck = RaidScheduler.scheduleRepeating(20, () -> {
             if (this.bossEntity.isDeadOrDying()) return;
-            for (ServerPlayer player : this.activePlayers) {
+            for (int i = 0; i < this.participants.size(); i++) {
+                ServerPlayer player = this.participants.getPlayer(i);
                 if (player.level() != this.bossEntity.level()) this.removePlayer(player);
             }
-        }, 20, true));
-        
-        // Initialize raid timer
-        this.raidMaxTicks = CobblemonRaidDens.CONFIG.coop_raid_duration_seconds * 20;
-        this.raidTimerTicks = this.raidMaxTicks;
+        });
+        this.stopTask = null;
         
         // Apply tier-based health multiplier to SHARED raid HP (not the Pokemon's actual HP)
         // The Pokemon keeps its normal HP for battles, but the shared raid HP pool is multiplied
@@ -126,26 +116,54 @@ public class RaidInstance {
             this.currentHealth = this.maxHealth;
             // DON'T modify the Pokemon's actual HP - keep it normal for battles
         }
+
+        // Raid dimensions are named after their host
+        UUID host;
+        try {
+            host = UUID.fromString(entity.level().dimension().location().getPath());
+        }
+        catch (IllegalArgumentException e) {
+            host = null;
+        }
+        this.host = host;
+        this.recovered = RaidCheckpoints.takeRecovered(host);
+        if (this.recovered != null) {
+            this.currentHealth = this.maxHealth * Math.clamp(this.recovered.getHealthRatio(), 0f, 1f);
+            if (this.recovered.getRemainingTicks() > 0) this.remainingTicks = this.recovered.getRemainingTicks();
+            this.pendingDamage += this.recovered.getInterruptedDamage(this.initMaxHealth);
+            while (this.hpCursor < this.script.getHpCount() && this.script.getHpThreshold(this.hpCursor) > this.getHealthRatio()) this.hpCursor++;
+        }
+        this.timings = new RaidJournal.Timings();
+        this.register();
+        if (this.raidBoss != null) RaidJournal.raidStart(this.getRaidId(), this.getGameTime(), this.raidBoss.getId(), this.maxHealth, this.totalTicks);
     }
 
     public void addPlayer(ServerPlayer player, PokemonBattle battle) {
         TierConfig tierConfig = CobblemonRaidDens.TIER_CONFIG.get(this.raidBoss.getTier());
         ((IRaidBattle) battle).setRaidBattle(this);
         this.battles.add(battle);
-        this.bossEvent.addPlayer(player);
 
-        // Track the boss's normal HP at battle start (initMaxHealth = normal Pokemon HP)
-        this.damageCache.put(player.getUUID(), this.initMaxHealth);
-        if (!this.activePlayers.isEmpty() && tierConfig.multiplayerHealthMultiplier() > 1.0f) this.applyHealthMulti(player);
-        if (this.scriptByTurn.containsKey(0)) ((IRaidBattle) battle).addToQueue(INSTRUCTION_MAP.get(this.scriptByTurn.get(0)));
+        boolean isNewPlayer = !this.hasPlayer(player);
+        if (isNewPlayer && !this.participants.isEmpty() && tierConfig.multiplayerHealthMultiplier() > 1.0f) this.applyHealthMulti(player);
+        int turnZero = this.script.getTurnIndex(0);
+        if (turnZero >= 0 && !this.turnsRun.get(turnZero)) ((IRaidBattle) battle).addToQueue(this.script.getTurnAction(turnZero));
+
+        if (isNewPlayer) {
+            this.join(player);
+            this.raidLog.addPlayer(player);
+        }
+        else this.bossEvent.addPlayer(player);
 
-        this.cheersLeft.put(player.getUUID(), tierConfig.maxCheers());
-        this.activePlayers.add(player);
-        RaidDenNetworkMessages.SYNC_HEALTH.accept(player, this.currentHealth / this.maxHealth);
+        // Track the boss's normal HP at battle start (initMaxHealth = normal Pokemon HP)
+        int index = this.participants.indexOf(player);
+        this.participants.setTrackedHp(index, this.initMaxHealth);
+        this.participants.setCheers(index, tierConfig.maxCheers());
+        if (isNewPlayer && this.recovered != null) this.recovered.restore(this.participants, index);
+        this.healthSync.sendTo(player, this.getHealthRatio(), this.getGameTime());
     }
 
     private void applyHealthMulti(ServerPlayer newPlayer) {
-        float bonusHealth = this.initMaxHealth * (CobblemonRaidDens.TIER_CONFIG.get(this.raidBoss.getTier()).multiplayerHealthMultiplier() - 1f) * this.activePlayers.size();
+        float bonusHealth = this.initMaxHealth * (CobblemonRaidDens.TIER_CONFIG.get(this.raidBoss.getTier()).multiplayerHealthMultiplier() - 1f) * this.participants.size();
         float currentRatio = this.currentHealth / this.maxHealth;
         this.maxHealth = this.initMaxHealth + bonusHealth;
         this.currentHealth = this.maxHealth * currentRatio;
@@ -163,39 +181,36 @@ public class RaidInstance {
         this.addPlayer(battle.getPlayers().getFirst(), battle);
     }
 
-    public void removePlayer(ServerPlayer player, PokemonBattle battle) {
+    /**
+     * Detaches a battle the player fled or lost. The player is taken out of the raid from the inbox, after any HP
+     * updates their battle already posted, so partial damage is worked out from their final HP and nothing left in the
+     * inbox can put an old battle's HP back afterwards.
+     */
+    public void leaveBattle(ServerPlayer player, PokemonBattle battle, boolean partialDamage) {
         this.battles.remove(battle);
         ((IRaidBattle) battle).setRaidBattle(null);
-        this.bossEvent.removePlayer(player);
-        this.damageCache.remove(player.getUUID());
+        this.post(new RaidEvent.BattleLeft(player, partialDamage));
         // Don't mark as failed so player can rejoin and continue fighting
     }
 
-    public void removePlayer(PokemonBattle battle) {
-        this.removePlayer(battle.getPlayers().getFirst(), battle);
-    }
-
     public void removePlayer(ServerPlayer player) {
         this.bossEvent.removePlayer(player);
-        this.damageCache.remove(player.getUUID());
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.resetTrackedHp(index);
     }
 
     public void syncHealth(ServerPlayer player, PokemonBattle battle, float remainingHealth) {
-        if (!this.activePlayers.contains(player) && ((IRaidBattle) battle).isRaidBattle()) this.addPlayer(player, battle);
+        if (!this.hasPlayer(player) && ((IRaidBattle) battle).isRaidBattle()) this.addPlayer(player, battle);
+        int index = this.participants.indexOf(player);
+        if (index < 0) return;
 
         // Calculate damage dealt this tick (difference from last known HP)
-        float lastKnownHp = this.damageCache.getOrDefault(player.getUUID(), this.initMaxHealth);
+        float lastKnownHp = this.participants.getTrackedHp(index, this.initMaxHealth);
         float damage = lastKnownHp - remainingHealth;
-        this.damageCache.put(player.getUUID(), remainingHealth);
+        this.participants.setTrackedHp(index, remainingHealth);
 
         // Apply damage to shared raid HP pool
-        if (damage > 0) {
-            this.currentHealth = Math.clamp(this.currentHealth - damage, 0f, this.maxHealth);
-            this.activePlayers.forEach(p -> RaidDenNetworkMessages.SYNC_HEALTH.accept(p, this.currentHealth / this.maxHealth));
-        }
-
-        // Update boss bar IMMEDIATELY - no delay for better responsiveness
-        this.bossEvent.setProgress(this.currentHealth / this.maxHealth);
+        if (damage > 0) this.setHealth(this.currentHealth - damage);
         
         if (this.currentHealth == 0f) {
             this.queueStopRaid();
@@ -217,14 +232,27 @@ public class RaidInstance {
         ((IRaidBattle) battle).setRaidBattle(null);
         
         // Reset damage cache for this player (they start fresh if they fight again)
-        this.damageCache.put(player.getUUID(), this.initMaxHealth);
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.setTrackedHp(index, this.initMaxHealth);
         
-        // Don't remove player from activePlayers - they can fight again if raid continues
+        // Don't remove player from the participants - they can fight again if raid continues
         // Don't modify boss entity HP - it should restore naturally
     }
 
-    public List<ServerPlayer> getPlayers() {
-        return this.activePlayers;
+    @Override
+    public UUID getRaidId() {
+        return ((IRaidAccessor) this.bossEntity).getRaidId();
+    }
+
+    /**
+     * The player the raid's dimension belongs to, or null if the boss is not in a raid dimension.
+     */
+    public @Nullable UUID getHost() {
+        return this.host;
+    }
+
+    void checkpoint(RaidCheckpoints.Checkpoint checkpoint) {
+        checkpoint.record(this.getHealthRatio(), this.remainingTicks, this.participants);
     }
 
     public float getRemainingHealth() {
@@ -240,14 +268,17 @@ public class RaidInstance {
      * Does NOT affect global HP - only tracks locally
      */
     public void trackBattleHp(ServerPlayer player, float currentHp) {
-        this.damageCache.put(player.getUUID(), currentHp);
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.setTrackedHp(index, currentHp);
+        RaidJournal.battleHp(this.getRaidId(), this.getGameTime(), player.getUUID(), currentHp);
     }
     
     /**
      * Get the tracked battle HP for a player
      */
     public float getTrackedBattleHp(ServerPlayer player) {
-        return this.damageCache.getOrDefault(player.getUUID(), this.initMaxHealth);
+        int index = this.participants.indexOf(player);
+        return index < 0 ? this.initMaxHealth : this.participants.getTrackedHp(index, this.initMaxHealth);
     }
     
     /**
@@ -256,11 +287,12 @@ public class RaidInstance {
      * @param damage The amount of damage to apply to global HP
      */
     public void applyBattleDamage(ServerPlayer player, float damage) {
-        this.currentHealth = Math.max(0, this.currentHealth - damage);
-        
-        // Update boss bar for all players
-        this.activePlayers.forEach(p -> RaidDenNetworkMessages.SYNC_HEALTH.accept(p, this.currentHealth / this.maxHealth));
-        this.bossEvent.setProgress(this.currentHealth / this.maxHealth);
+        this.applyDamage(damage);
+    }
+
+    private void applyDamage(float damage) {
+        this.setHealth(this.currentHealth - damage);
+        RaidJournal.damage(this.getRaidId(), this.getGameTime(), damage, this.currentHealth);
         
         // Check if raid is complete
         if (this.currentHealth <= 0) {
@@ -272,59 +304,76 @@ public class RaidInstance {
      * Called when player flees or loses - apply partial damage based on what they dealt
      */
     public void applyPartialDamage(ServerPlayer player) {
-        float lastHp = this.damageCache.getOrDefault(player.getUUID(), this.initMaxHealth);
+        float lastHp = this.getTrackedBattleHp(player);
         float damageDealt = this.initMaxHealth - lastHp;
         if (damageDealt > 0) {
             this.applyBattleDamage(player, damageDealt);
         }
         // Reset for next battle
-        this.damageCache.put(player.getUUID(), this.initMaxHealth);
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.setTrackedHp(index, this.initMaxHealth);
+    }
+
+    /**
+     * Called from the inbox when a player knocks out the boss in their battle. The boss's full HP is drained from
+     * the shared pool once the whole inbox has been applied, so several knockouts in one tick cost one update.
+     */
+    public void onBossFainted(ServerPlayer player, PokemonBattle battle) {
+        this.pendingDamage += this.initMaxHealth;
+        RaidJournal.player(RaidJournal.KNOCKOUT, this.getRaidId(), this.getGameTime(), player.getUUID());
+
+        // The boss entity is visual-only, it should never actually die from battles
+        this.bossEntity.setHealth(this.bossEntity.getMaxHealth());
+        this.bossEntity.getPokemon().setCurrentHealth(this.bossEntity.getPokemon().getMaxHealth());
+
+        // Remove battle and reset tracking - allows the battle to close properly
+        this.onPlayerBattleWin(player, battle);
+    }
+
+    /**
+     * Queue an event from a battle callback. It is applied on the raid's next tick, on the server thread.
+     */
+    public void post(RaidEvent event) {
+        this.inbox.post(event);
     }
 
     public boolean hasFailed(ServerPlayer player) {
         return this.failedPlayers.contains(player.getUUID());
     }
 
-    public void tick() {
-        this.runQueue.removeIf(DelayedRunnable::tick);
-        
-        // Raid timer
-        if (!this.activePlayers.isEmpty()) {
-            this.raidTimerTicks--;
-            
-            // Update boss bar with time remaining every second
-            if (this.raidTimerTicks % 20 == 0) {
-                int remainingSeconds = this.raidTimerTicks / 20;
-                int minutes = remainingSeconds / 60;
-                int seconds = remainingSeconds % 60;
-                String timeStr = String.format("%d:%02d", minutes, seconds);
-                
-                MutableComponent name = ((MutableComponent) this.bossEntity.getName())
-                    .append(Component.literal(" - " + timeStr).withStyle(ChatFormatting.AQUA))
-                    .withStyle(ChatFormatting.BOLD);
-                this.bossEvent.setName(name);
-                
-                // Broadcast time warnings
-                if (remainingSeconds == 300 || remainingSeconds == 180 || 
-                    remainingSeconds == 60 || remainingSeconds == 30 || 
-                    remainingSeconds == 10 || (remainingSeconds <= 5 && remainingSeconds > 0)) {
-                    Component warning = Component.translatable(
-                        remainingSeconds >= 60 ? "message.cobblemonraiddens.coop_raid.time_warning_minutes" : "message.cobblemonraiddens.coop_raid.time_warning_seconds",
-                        remainingSeconds >= 60 ? remainingSeconds / 60 : remainingSeconds
-                    ).withStyle(remainingSeconds <= 10 ? ChatFormatting.RED : ChatFormatting.GOLD);
-                    this.activePlayers.forEach(p -> p.sendSystemMessage(warning));
-                }
-            }
-            
-            // Time's up - raid fails
-            if (this.raidTimerTicks <= 0) {
-                Component defeatMsg = Component.translatable("message.cobblemonraiddens.coop_raid.defeat",
-                    (int) this.currentHealth, (int) this.maxHealth)
-                    .withStyle(ChatFormatting.RED).withStyle(ChatFormatting.BOLD);
-                this.activePlayers.forEach(p -> p.sendSystemMessage(defeatMsg));
-                this.queueStopRaid(false);
-            }
+    @Override
+    protected void onTick() {
+        long time = this.timings.start();
+        this.inbox.drain(event -> event.apply(this));
+        time = this.timings.stop(RaidJournal.PHASE_INBOX, time);
+        if (this.pendingDamage > 0f) {
+            float damage = this.pendingDamage;
+            this.pendingDamage = 0f;
+            this.applyDamage(damage);
         }
+        time = this.timings.stop(RaidJournal.PHASE_DAMAGE, time);
+        this.raidLog.flush(this.multicast);
+        this.timings.stop(RaidJournal.PHASE_LOG, time);
+        if (this.timings.tick(this.getRaidId(), this.getGameTime())) this.journalPackets();
+    }
+
+    private void journalPackets() {
+        RaidJournal.packets(this.getRaidId(), this.getGameTime(), this.healthSync.getPacketsSent(), this.healthSync.getUpdatesCoalesced());
+    }
+
+    @Override
+    protected boolean isTimerRunning() {
+        return !this.participants.isEmpty();
+    }
+
+    @Override
+    protected void onTimeout() {
+        // Time's up - raid fails
+        Component defeatMsg = Component.translatable("message.cobblemonraiddens.coop_raid.defeat",
+            (int) this.currentHealth, (int) this.maxHealth)
+            .withStyle(ChatFormatting.RED).withStyle(ChatFormatting.BOLD);
+        this.broadcastMessage(defeatMsg);
+        this.queueStopRaid(false);
     }
 
     public void queueStopRaid() {
@@ -332,12 +381,12 @@ public class RaidInstance {
     }
 
     public void queueStopRaid(boolean raidSuccess) {
-        this.runQueue.add(new DelayedRunnable(() -> this.stopRaid(raidSuccess), 60));
+        if (this.stopTask != null) return;
+        this.stopTask = RaidScheduler.schedule(60, () -> this.stopRaid(raidSuccess));
     }
 
     public void stopRaid(boolean raidSuccess) {
-        this.bossEvent.setVisible(false);
-        this.bossEvent.removeAllPlayers();
+        this.levelCheck.cancel();
         
         // Allow boss to die and kill it only on raid success (global HP reached 0)
         if (raidSuccess) {
@@ -345,7 +394,10 @@ public class RaidInstance {
             this.bossEntity.setHealth(0f);
         }
         
-        RaidHelper.ACTIVE_RAIDS.remove(((IRaidAccessor) this.bossEntity).getRaidId());
+        this.finish();
+        this.journalPackets();
+        RaidJournal.raidEnd(this.getRaidId(), this.getGameTime(), raidSuccess, this.remainingTicks);
+        RaidHelper.ACTIVE_RAIDS.remove(this.getRaidId());
         this.battles.forEach(PokemonBattle::stop);
         if (this.raidBoss == null) return;
 
@@ -358,17 +410,8 @@ public class RaidInstance {
      * Cleans up all states: boss bar, battles, tracking.
      */
     public void removePlayerCompletely(ServerPlayer player) {
-        // Remove from boss bar
-        this.bossEvent.removePlayer(player);
-        
-        // Remove from active players list
-        this.activePlayers.remove(player);
-        
-        // Remove damage tracking
-        this.damageCache.remove(player.getUUID());
-        
-        // Remove cheers tracking
-        this.cheersLeft.remove(player.getUUID());
+        // Remove from boss bar, participants and their tracking
+        this.leave(player);
         
         // Find and remove any active battle for this player
         this.battles.removeIf(battle -> {
@@ -381,27 +424,28 @@ public class RaidInstance {
         });
         
         // If no players left, end the raid
-        if (this.activePlayers.isEmpty()) {
+        if (this.participants.isEmpty()) {
             this.queueStopRaid(false);
         }
     }
 
     private void handleSuccess() {
         int catches = this.raidBoss.getMaxCatches();
+        List<ServerPlayer> players = new ArrayList<>(this.participants.asList());
         List<ServerPlayer> success;
         List<ServerPlayer> failed;
-        if (catches < 0 || this.activePlayers.size() < catches) {
-            success = this.activePlayers;
+        if (catches < 0 || players.size() < catches) {
+            success = players;
             failed = List.of();
         }
         else if (catches == 0) {
             success = List.of();
-            failed = this.activePlayers;
+            failed = players;
         }
         else {
-            Collections.shuffle(this.activePlayers);
-            success = this.activePlayers.subList(0, catches);
-            failed = this.activePlayers.subList(catches, this.activePlayers.size());
+            Collections.shuffle(players);
+            success = players.subList(0, catches);
+            failed = players.subList(catches, players.size());
         }
 
         Pokemon cachedReward;
@@ -416,44 +460,49 @@ public class RaidInstance {
         }
 
         success.forEach(player -> {
-            new RewardHandler(this.raidBoss, player, true, cachedReward).sendRewardMessage();
+            RewardLedger.issue(this.raidBoss, player, true, cachedReward);
             RaidEvents.RAID_END.emit(new RaidEndEvent(player, this.raidBoss, this.bossEntity.getPokemon(), true));
         });
         failed.forEach(player -> {
-            new RewardHandler(this.raidBoss, player, false).sendRewardMessage();
+            RewardLedger.issue(this.raidBoss, player, false, null);
             RaidEvents.RAID_END.emit(new RaidEndEvent(player, this.raidBoss, this.bossEntity.getPokemon(), true));
         });
     }
 
     private void handleFailed() {
-        this.activePlayers.forEach(player -> {
+        this.participants.asList().forEach(player -> {
             player.sendSystemMessage(Component.translatable("message.cobblemonraiddens.raid.raid_fail"));
             RaidEvents.RAID_END.emit(new RaidEndEvent(player, this.raidBoss, this.bossEntity.getPokemon(), false));
         });
     }
 
-    public RaidBoss getRaidBoss() {
-        return this.raidBoss;
+    public RaidLog getRaidLog() {
+        return this.raidLog;
     }
 
     public void runScriptByTurn(PokemonBattle battle, int turn) {
-        String func = this.scriptByTurn.remove(turn);
-        if (func == null) return;
-        ((IRaidBattle) battle).addToQueue(INSTRUCTION_MAP.get(func));
+        int index = this.script.getTurnIndex(turn);
+        if (index < 0 || this.turnsRun.get(index)) return;
+        this.turnsRun.set(index);
+        RaidJournal.script(this.getRaidId(), this.getGameTime(), RaidJournal.SCRIPT_TURN, index);
+        ((IRaidBattle) battle).addToQueue(this.script.getTurnAction(index));
     }
 
     public void runScriptByHp(double hpRatio) {
-        this.scriptByHp.tailMap(hpRatio, true)
-            .values()
-            .forEach(func -> this.battles.forEach(battle -> ((IRaidBattle) battle).addToQueue(INSTRUCTION_MAP.get(func))));
-
-        this.scriptByHp.keySet().removeIf(hp -> hp >= hpRatio);
+        while (this.hpCursor < this.script.getHpCount() && this.script.getHpThreshold(this.hpCursor) >= hpRatio) {
+            RaidJournal.script(this.getRaidId(), this.getGameTime(), RaidJournal.SCRIPT_HP, this.hpCursor);
+            BiConsumer<RaidInstance, PokemonBattle> action = this.script.getHpAction(this.hpCursor++);
+            for (PokemonBattle battle : this.battles) ((IRaidBattle) battle).addToQueue(action);
+        }
     }
 
     public boolean runCheer(ServerPlayer player, PokemonBattle oBattle, BagItem bagItem, String data) {
-        int cheersLeft = this.cheersLeft.getOrDefault(player.getUUID(), 0);
+        int index = this.participants.indexOf(player);
+        if (index < 0) return false;
+        int cheersLeft = this.participants.getCheers(index);
         if (cheersLeft <= 0) return false;
-        this.cheersLeft.put(player.getUUID(), --cheersLeft);
+        this.participants.setCheers(index, --cheersLeft);
+        RaidJournal.cheer(this.getRaidId(), this.getGameTime(), player.getUUID(), cheersLeft);
 
         this.cheer(oBattle, bagItem, data, false);
         for (PokemonBattle b : this.battles) {
@@ -472,7 +521,8 @@ public class RaidInstance {
         BattlePokemon bp = target.getFirst().getBattlePokemon();
         String data = String.format("%s %s", (int) this.currentHealth, newPlayer.getName().getString());
         this.sendAction(side1, side2, new BagItemActionResponse(new PlayerJoinBagItem(), bp, data));
-        this.damageCache.put(player.getUUID(), (float) Math.floor(this.currentHealth));
+        int index = this.participants.indexOf(player);
+        if (index >= 0) this.participants.setTrackedHp(index, (float) Math.floor(this.currentHealth));
     }
 
     public void cheer(PokemonBattle battle, BagItem bagItem, String data, boolean skipEnemyAction) {
@@ -559,29 +609,8 @@ public class RaidInstance {
         side1.sendUpdate(new BattleApplyPassResponsePacket());
     }
 
-    private static class DelayedRunnable {
-        private final Runnable runnable;
-        private final int delay;
-        private int tick;
-        private final boolean repeat;
-
-        public DelayedRunnable(Runnable runnable, int delay, boolean repeat) {
-            this.runnable = runnable;
-            this.delay = delay;
-            this.tick = 0;
-            this.repeat = repeat;
-        }
-
-        public DelayedRunnable(Runnable runnable, int delay) {
-            this(runnable, delay, false);
-        }
-
-        public boolean tick() {
-            if (++this.tick < this.delay) return false;
-            this.runnable.run();
-            if (this.repeat) this.tick = 0;
-            return !this.repeat;
-        }
+    static BiConsumer<RaidInstance, PokemonBattle> getInstruction(String instruction) {
+        return INSTRUCTION_MAP.get(instruction);
     }
 
     static {
@@ -0,0 +1,56 @@
+package com.necro.raid.dens.common.raids;
+
+import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import com.necro.raid.dens.common.network.RaidMulticast;
+import com.necro.raid.dens.common.network.packets.RaidLogPacket;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+
+/**
+ * Batches the raid log for one raid. Strings are interned into a raid-wide table and each tick's entries are
+ * multicast to the raid's group together with the table entries added since the last flush. Players joining late
+ * are first sent the part of the table the group already has.
+ */
+public class RaidLog {
+    private final Map<String, Integer> stringIndex;
+    private final List<String> strings;
+    private int flushedStrings;
+    private int[] pending;
+    private int pendingSize;
+
+    public RaidLog() {
+        this.stringIndex = new HashMap<>();
+        this.strings = new ArrayList<>();
+        this.flushedStrings = 0;
+        this.pending = new int[8];
+        this.pendingSize = 0;
+    }
+
+    public void add(String pokemon, String move) {
+        if (this.pendingSize + 2 > this.pending.length) this.pending = Arrays.copyOf(this.pending, this.pending.length * 2);
+        this.pending[this.pendingSize++] = this.indexOf(pokemon);
+        this.pending[this.pendingSize++] = this.indexOf(move);
+    }
+
+    private int indexOf(String value) {
+        return this.stringIndex.computeIfAbsent(value, s -> {
+            this.strings.add(s);
+            return this.strings.size() - 1;
+        });
+    }
+
+    public void addPlayer(ServerPlayer player) {
+        List<String> known = List.copyOf(this.strings.subList(0, this.flushedStrings));
+        RaidDenNetworkMessages.RAID_LOG.accept(player, new RaidLogPacket(true, known, new int[0]));
+    }
+
+    public void flush(RaidMulticast group) {
+        if (this.pendingSize == 0) return;
+        List<String> added = List.copyOf(this.strings.subList(this.flushedStrings, this.strings.size()));
+        int[] entries = Arrays.copyOf(this.pending, this.pendingSize);
+        this.flushedStrings = this.strings.size();
+        this.pendingSize = 0;
+        group.send(new RaidLogPacket(false, added, entries));
+    }
+}
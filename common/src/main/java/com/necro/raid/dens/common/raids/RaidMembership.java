@@ -0,0 +1,103 @@
+package com.necro.raid.dens.common.raids;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Two-way index of which players are in which raid. A player belongs to at most one raid of an index; joining another
+ * raid moves them, and both directions are always updated together.
+ */
+public class RaidMembership {
+    private final Map<UUID, UUID> playerToRaid;
+    private final Map<UUID, Set<UUID>> raidToPlayers;
+
+    public RaidMembership() {
+        this.playerToRaid = new HashMap<>();
+        this.raidToPlayers = new HashMap<>();
+    }
+
+    /**
+     * Adds the player to a raid and returns the raid they were moved out of, if any.
+     */
+    public @Nullable UUID join(UUID raidId, UUID player) {
+        UUID previous = this.playerToRaid.put(player, raidId);
+        if (previous != null && !previous.equals(raidId)) this.removeFromRaid(previous, player);
+        this.raidToPlayers.computeIfAbsent(raidId, id -> new HashSet<>()).add(player);
+        return raidId.equals(previous) ? null : previous;
+    }
+
+    public boolean leave(UUID raidId, UUID player) {
+        if (!raidId.equals(this.playerToRaid.get(player))) return false;
+        this.playerToRaid.remove(player);
+        this.removeFromRaid(raidId, player);
+        return true;
+    }
+
+    public void stop(UUID raidId) {
+        Set<UUID> players = this.raidToPlayers.remove(raidId);
+        if (players == null) return;
+        players.forEach(this.playerToRaid::remove);
+    }
+
+    private void removeFromRaid(UUID raidId, UUID player) {
+        Set<UUID> players = this.raidToPlayers.get(raidId);
+        if (players == null) return;
+        players.remove(player);
+        if (players.isEmpty()) this.raidToPlayers.remove(raidId);
+    }
+
+    public @Nullable UUID getRaid(UUID player) {
+        return this.playerToRaid.get(player);
+    }
+
+    public boolean isMember(UUID raidId, UUID player) {
+        return raidId.equals(this.playerToRaid.get(player));
+    }
+
+    public Set<UUID> getMembers(UUID raidId) {
+        Set<UUID> players = this.raidToPlayers.get(raidId);
+        return players == null ? Set.of() : Collections.unmodifiableSet(players);
+    }
+
+    public int getPlayerCount() {
+        return this.playerToRaid.size();
+    }
+
+    public int getRaidCount() {
+        return this.raidToPlayers.size();
+    }
+
+    public void clear() {
+        this.playerToRaid.clear();
+        this.raidToPlayers.clear();
+    }
+
+    /**
+     * Checks that both directions of the index agree with each other and with the raids' own player lists, returning a
+     * description of every violation found.
+     */
+    public List<String> verify(Map<UUID, ? extends Collection<ServerPlayer>> raids) {
+        List<String> problems = new ArrayList<>();
+        this.playerToRaid.forEach((player, raidId) -> {
+            if (!this.raidToPlayers.getOrDefault(raidId, Set.of()).contains(player))
+                problems.add(String.format("Player %s maps to raid %s, which does not list them", player, raidId));
+        });
+        this.raidToPlayers.forEach((raidId, players) -> {
+            if (!raids.containsKey(raidId)) problems.add(String.format("Raid %s is indexed but not active", raidId));
+            for (UUID player : players) {
+                if (!raidId.equals(this.playerToRaid.get(player)))
+                    problems.add(String.format("Raid %s lists player %s, who maps to %s", raidId, player, this.playerToRaid.get(player)));
+            }
+        });
+        raids.forEach((raidId, players) -> {
+            Set<UUID> indexed = this.raidToPlayers.getOrDefault(raidId, Set.of());
+            Set<UUID> actual = new HashSet<>();
+            players.forEach(player -> actual.add(player.getUUID()));
+            if (!indexed.equals(actual))
+                problems.add(String.format("Raid %s has players %s but the index has %s", raidId, actual, indexed));
+        });
+        return problems;
+    }
+}
@@ -0,0 +1,162 @@
+package com.necro.raid.dens.common.raids;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-participant raid state stored as parallel primitive arrays. A participant's slot is found by comparing the two
+ * halves of their UUID, which for raid-sized groups is cheaper than hashing into boxed maps. Removal swaps the last
+ * participant into the freed slot, so slots are only stable between membership changes.
+ */
+public class RaidParticipants {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private ServerPlayer[] players;
+    private long[] uuidMost;
+    private long[] uuidLeast;
+    private float[] trackedHp;
+    private int[] cheers;
+    private int[] defeats;
+    private int size;
+
+    private final List<ServerPlayer> view;
+
+    public RaidParticipants() {
+        this.players = new ServerPlayer[INITIAL_CAPACITY];
+        this.uuidMost = new long[INITIAL_CAPACITY];
+        this.uuidLeast = new long[INITIAL_CAPACITY];
+        this.trackedHp = new float[INITIAL_CAPACITY];
+        this.cheers = new int[INITIAL_CAPACITY];
+        this.defeats = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.view = new AbstractList<>() {
+            @Override
+            public ServerPlayer get(int index) {
+                if (index < 0 || index >= RaidParticipants.this.size) throw new IndexOutOfBoundsException(index);
+                return RaidParticipants.this.players[index];
+            }
+
+            @Override
+            public int size() {
+                return RaidParticipants.this.size;
+            }
+        };
+    }
+
+    public int indexOf(UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        for (int i = 0; i < this.size; i++) {
+            if (this.uuidMost[i] == most && this.uuidLeast[i] == least) return i;
+        }
+        return -1;
+    }
+
+    public int indexOf(ServerPlayer player) {
+        return this.indexOf(player.getUUID());
+    }
+
+    public int add(ServerPlayer player) {
+        int index = this.indexOf(player);
+        if (index >= 0) {
+            this.players[index] = player;
+            return index;
+        }
+        if (this.size == this.players.length) this.grow();
+
+        index = this.size++;
+        UUID uuid = player.getUUID();
+        this.players[index] = player;
+        this.uuidMost[index] = uuid.getMostSignificantBits();
+        this.uuidLeast[index] = uuid.getLeastSignificantBits();
+        this.trackedHp[index] = Float.NaN;
+        this.cheers[index] = 0;
+        this.defeats[index] = 0;
+        return index;
+    }
+
+    public boolean remove(ServerPlayer player) {
+        int index = this.indexOf(player);
+        if (index < 0) return false;
+
+        int last = --this.size;
+        this.players[index] = this.players[last];
+        this.uuidMost[index] = this.uuidMost[last];
+        this.uuidLeast[index] = this.uuidLeast[last];
+        this.trackedHp[index] = this.trackedHp[last];
+        this.cheers[index] = this.cheers[last];
+        this.defeats[index] = this.defeats[last];
+        this.players[last] = null;
+        return true;
+    }
+
+    private void grow() {
+        int capacity = this.players.length * 2;
+        this.players = Arrays.copyOf(this.players, capacity);
+        this.uuidMost = Arrays.copyOf(this.uuidMost, capacity);
+        this.uuidLeast = Arrays.copyOf(this.uuidLeast, capacity);
+        this.trackedHp = Arrays.copyOf(this.trackedHp, capacity);
+        this.cheers = Arrays.copyOf(this.cheers, capacity);
+        this.defeats = Arrays.copyOf(this.defeats, capacity);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public ServerPlayer getPlayer(int index) {
+        return this.players[index];
+    }
+
+    /**
+     * The tracked battle HP of the participant, or {@code fallback} if none has been recorded since it was reset.
+     */
+    public float getTrackedHp(int index, float fallback) {
+        float hp = this.trackedHp[index];
+        return Float.isNaN(hp) ? fallback : hp;
+    }
+
+    public void setTrackedHp(int index, float hp) {
+        this.trackedHp[index] = hp;
+    }
+
+    public void resetTrackedHp(int index) {
+        this.trackedHp[index] = Float.NaN;
+    }
+
+    public int getCheers(int index) {
+        return this.cheers[index];
+    }
+
+    public void setCheers(int index, int cheers) {
+        this.cheers[index] = cheers;
+    }
+
+    public int getDefeats(int index) {
+        return this.defeats[index];
+    }
+
+    public void setDefeats(int index, int defeats) {
+        this.defeats[index] = defeats;
+    }
+
+    public int addDefeat(int index) {
+        return ++this.defeats[index];
+    }
+
+    /**
+     * A live, read-only list view of the participating players.
+     */
+    public @NotNull List<ServerPlayer> asList() {
+        return this.view;
+    }
+}
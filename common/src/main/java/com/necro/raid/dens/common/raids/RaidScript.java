@@ -0,0 +1,83 @@
+package com.necro.raid.dens.common.raids;
+
+import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A raid boss script compiled from its {@code "turn:N"} and {@code "hp:X"} entries. Turns are sorted ascending and
+ * HP thresholds descending, so a raid only needs a turn lookup and a cursor over the thresholds.
+ */
+public class RaidScript {
+    public static final RaidScript EMPTY = new RaidScript(new int[0], List.of(), new double[0], List.of());
+
+    private final int[] turns;
+    private final List<BiConsumer<RaidInstance, PokemonBattle>> turnActions;
+    private final double[] hpThresholds;
+    private final List<BiConsumer<RaidInstance, PokemonBattle>> hpActions;
+
+    private RaidScript(int[] turns, List<BiConsumer<RaidInstance, PokemonBattle>> turnActions,
+                       double[] hpThresholds, List<BiConsumer<RaidInstance, PokemonBattle>> hpActions) {
+        this.turns = turns;
+        this.turnActions = turnActions;
+        this.hpThresholds = hpThresholds;
+        this.hpActions = hpActions;
+    }
+
+    public int getTurnIndex(int turn) {
+        int index = Arrays.binarySearch(this.turns, turn);
+        return index < 0 ? -1 : index;
+    }
+
+    public int getTurnCount() {
+        return this.turns.length;
+    }
+
+    public BiConsumer<RaidInstance, PokemonBattle> getTurnAction(int index) {
+        return this.turnActions.get(index);
+    }
+
+    public int getHpCount() {
+        return this.hpThresholds.length;
+    }
+
+    public double getHpThreshold(int index) {
+        return this.hpThresholds[index];
+    }
+
+    public BiConsumer<RaidInstance, PokemonBattle> getHpAction(int index) {
+        return this.hpActions.get(index);
+    }
+
+    public static RaidScript compile(ResourceLocation id, Map<String, String> script) {
+        if (script == null || script.isEmpty()) return EMPTY;
+
+        TreeMap<Integer, BiConsumer<RaidInstance, PokemonBattle>> byTurn = new TreeMap<>();
+        TreeMap<Double, BiConsumer<RaidInstance, PokemonBattle>> byHp = new TreeMap<>(Comparator.reverseOrder());
+
+        script.forEach((key, func) -> {
+            BiConsumer<RaidInstance, PokemonBattle> action = RaidInstance.getInstruction(func);
+            if (action == null) {
+                CobblemonRaidDens.LOGGER.warn("Unknown raid script instruction {} for {} in raid boss {}", func, key, id);
+                return;
+            }
+            try {
+                if (key.startsWith("turn:")) byTurn.put(Integer.parseInt(key.substring(5)), action);
+                else if (key.startsWith("hp:")) byHp.put(Double.parseDouble(key.substring(3)), action);
+                else CobblemonRaidDens.LOGGER.warn("Unknown raid script trigger {} in raid boss {}", key, id);
+            }
+            catch (NumberFormatException e) {
+                CobblemonRaidDens.LOGGER.warn("Invalid raid script trigger {} in raid boss {}", key, id);
+            }
+        });
+
+        if (byTurn.isEmpty() && byHp.isEmpty()) return EMPTY;
+        return new RaidScript(
+            byTurn.keySet().stream().mapToInt(Integer::intValue).toArray(), List.copyOf(byTurn.values()),
+            byHp.keySet().stream().mapToDouble(Double::doubleValue).toArray(), List.copyOf(byHp.values())
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.necro.raid.dens.common.raids;
 
+import com.cobblemon.mod.common.Cobblemon;
 import com.cobblemon.mod.common.item.PokeBallItem;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.cobblemon.mod.common.util.PlayerExtensionsKt;
@@ -11,29 +12,30 @@ import com.necro.raid.dens.common.events.RaidEvents;
 import com.necro.raid.dens.common.events.RewardPokemonEvent;
 import com.necro.raid.dens.common.items.ModItems;
 import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.contents.TranslatableContents;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.List;
+import java.util.UUID;
 
 public class RewardHandler {
+    private static final String TOKEN_KEY = "raid_reward_token";
+
     private final RaidBoss raidBoss;
     private final ServerPlayer player;
     private final boolean isCatchable;
 
     private final Pokemon cachedReward;
+    private final UUID token;
 
-    public RewardHandler(RaidBoss raidBoss, ServerPlayer player, boolean isCatchable, Pokemon cachedReward) {
+    public RewardHandler(RaidBoss raidBoss, ServerPlayer player, boolean isCatchable, Pokemon cachedReward, UUID token) {
         this.raidBoss = raidBoss;
         this.player = player;
         this.isCatchable = isCatchable;
         this.cachedReward = cachedReward;
-    }
-
-    public RewardHandler(RaidBoss raidBoss, ServerPlayer player, boolean isCatchable) {
-        this(raidBoss, player, isCatchable, null);
+        this.token = token;
     }
 
     public void sendRewardMessage() {
@@ -44,13 +46,15 @@ public class RewardHandler {
     }
 
     public boolean givePokemonToPlayer() {
-        if (!(this.player.getMainHandItem().getItem() instanceof PokeBallItem pokeBallItem)) {
+        if (this.hasReceivedPokemon()) return this.giveItemToPlayer();
+        else if (!(this.player.getMainHandItem().getItem() instanceof PokeBallItem pokeBallItem)) {
             this.player.sendSystemMessage(RaidHelper.getSystemMessage("message.cobblemonraiddens.reward.reward_not_pokeball"));
             return false;
         }
 
         Pokemon pokemon = this.cachedReward == null ? this.raidBoss.getRewardPokemon(this.player) : this.cachedReward;
         pokemon.setCaughtBall(pokeBallItem.getPokeBall());
+        pokemon.getPersistentData().putUUID(TOKEN_KEY, this.token);
 
         if (!RaidEvents.REWARD_POKEMON.postWithResult(new RewardPokemonEvent(this.player, pokemon))) return false;
         else if (!this.giveItemToPlayer()) return false;
@@ -62,18 +66,34 @@ public class RewardHandler {
         return true;
     }
 
+    /**
+     * Whether the player already has this reward's Pokemon. Cobblemon saves the party and PC on its own schedule, so
+     * after a crash the Pokemon can be saved while the claim that gave it was not, and the reward is offered again.
+     */
+    private boolean hasReceivedPokemon() {
+        for (Pokemon pokemon : PlayerExtensionsKt.party(this.player)) {
+            if (this.isReward(pokemon)) return true;
+        }
+        for (Pokemon pokemon : Cobblemon.INSTANCE.getStorage().getPC(this.player)) {
+            if (this.isReward(pokemon)) return true;
+        }
+        return false;
+    }
+
+    private boolean isReward(Pokemon pokemon) {
+        CompoundTag data = pokemon.getPersistentData();
+        return data.hasUUID(TOKEN_KEY) && this.token.equals(data.getUUID(TOKEN_KEY));
+    }
+
+    /**
+     * Claims the reward and queues its items. Returns false if the reward was already claimed.
+     */
     public boolean giveItemToPlayer() {
+        if (!RewardLedger.claim(this)) return false;
         ItemStack raidPouch = this.buildRaidPouch();
         List<ItemStack> rewards = this.raidBoss.getRandomRewards(this.player.serverLevel());
         rewards.addFirst(raidPouch);
-        for (ItemStack item : rewards) {
-            if (!this.player.getInventory().add(item)) {
-                ItemEntity itemEntity = this.player.drop(item, false);
-                if (itemEntity == null) continue;
-                itemEntity.setNoPickUpDelay();
-                itemEntity.setTarget(this.player.getUUID());
-            }
-        }
+        RewardLedger.deliver(this, this.player, rewards);
         return true;
     }
 
@@ -83,6 +103,10 @@ public class RewardHandler {
         RaidDensCobbleDollarsCompat.addCurrency(player, this.raidBoss.getCurrency());
     }
 
+    public UUID getToken() {
+        return this.token;
+    }
+
     private ItemStack buildRaidPouch() {
         ItemStack item = ModItems.RAID_POUCH.value().getDefaultInstance();
         item.set(ModComponents.TIER_COMPONENT.value(),  this.raidBoss.getTier());
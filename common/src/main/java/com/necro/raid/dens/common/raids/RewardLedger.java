@@ -0,0 +1,285 @@
+package com.necro.raid.dens.common.raids;
+
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.journal.RaidJournal;
+import com.necro.raid.dens.common.util.RaidRegistry;
+import net.minecraft.Util;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The durable record of raid rewards that have been earned but not yet received. Every reward is issued under its own
+ * claim token and appended to a ledger file straight away, so rewards for offline players survive a restart. A token
+ * can only be claimed once, and the claim is only written to the ledger when the server saves, in the same save as
+ * the player's inventory, so a crash either keeps both the reward and the items or neither.
+ * <p>
+ * That guarantee covers items only. Reward Pokemon live in Cobblemon's party and PC storage, which saves separately,
+ * so each carries its claim token and a reward offered again after a crash skips a Pokemon the player already has; a
+ * Pokemon not yet saved when the claim was can still be lost. Currency paid through other mods is outside the ledger.
+ * <p>
+ * A player is offered one reward at a time, oldest first. Claimed items are handed out at most
+ * {@code STACKS_PER_TICK} stacks a tick, spread over every player with items due, so a big raid finishing does not
+ * do all its inventory work in one tick.
+ */
+public class RewardLedger {
+    private static final int ISSUE = 0;
+    private static final int CLAIM = 1;
+    private static final int STACKS_PER_TICK = 16;
+    private static final int COMPACT_AFTER = 256;
+
+    private static final Map<UUID, Entry> PENDING = new LinkedHashMap<>();
+    private static final Map<UUID, Entry> IN_FLIGHT = new HashMap<>();
+    private static final List<UUID> UNSAVED_CLAIMS = new ArrayList<>();
+    private static final Deque<Delivery> DELIVERIES = new ArrayDeque<>();
+    private static final Map<UUID, List<Delivery>> PARKED = new HashMap<>();
+    private static CompletableFuture<?> WRITING = CompletableFuture.completedFuture(null);
+
+    private static MinecraftServer SERVER = null;
+    private static Path PATH = null;
+    private static int CLAIM_RECORDS = 0;
+
+    public static void load(MinecraftServer server) {
+        clear();
+        SERVER = server;
+        PATH = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(CobblemonRaidDens.MOD_ID + "_rewards.ledger");
+        if (Files.exists(PATH)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(PATH)))) {
+                while (true) {
+                    CompoundTag tag = NbtIo.read(in, NbtAccounter.unlimitedHeap());
+                    if (tag.getInt("t") == CLAIM) PENDING.remove(tag.getUUID("token"));
+                    else {
+                        Entry entry = Entry.load(tag);
+                        if (entry != null) PENDING.put(entry.token, entry);
+                    }
+                }
+            }
+            catch (EOFException ignored) {
+                // End of the ledger, or a record cut off by a crash
+            }
+            catch (IOException | RuntimeException e) {
+                CobblemonRaidDens.LOGGER.error("Could not fully read the raid reward ledger", e);
+            }
+        }
+        compact();
+    }
+
+    /**
+     * Records a reward for the player and offers it to them if they have no other reward waiting.
+     */
+    public static void issue(RaidBoss raidBoss, ServerPlayer player, boolean isCatchable, @Nullable Pokemon cachedReward) {
+        CompoundTag reward = cachedReward == null ? null : cachedReward.saveToNBT(player.registryAccess(), new CompoundTag());
+        Entry entry = new Entry(UUID.randomUUID(), player.getUUID(), raidBoss.getId(), isCatchable, reward);
+        PENDING.put(entry.token, entry);
+        append(entry.save());
+        RaidJournal.rewardIssued(player.level().getGameTime(), entry.player, entry.token, isCatchable);
+        if (!RaidHelper.REWARD_QUEUE.containsKey(player.getUUID())) offerNext(player);
+    }
+
+    /**
+     * Offers the player their oldest reward. Rewards for raid bosses that no longer exist are kept but skipped.
+     */
+    private static void offerNext(ServerPlayer player) {
+        RaidHelper.REWARD_QUEUE.remove(player.getUUID());
+        for (Entry entry : PENDING.values()) {
+            if (!entry.player.equals(player.getUUID())) continue;
+            RaidBoss raidBoss = RaidRegistry.getRaidBoss(entry.boss);
+            if (raidBoss == null) continue;
+
+            Pokemon reward = entry.reward == null ? null : Pokemon.Companion.loadFromNBT(player.registryAccess(), entry.reward);
+            new RewardHandler(raidBoss, player, entry.isCatchable, reward, entry.token).sendRewardMessage();
+            return;
+        }
+    }
+
+    public static void onPlayerJoin(ServerPlayer player) {
+        List<Delivery> parked = PARKED.remove(player.getUUID());
+        if (parked != null) DELIVERIES.addAll(parked);
+        offerNext(player);
+    }
+
+    /**
+     * Takes the reward's token out of the ledger. Returns false if it was already claimed, in which case nothing may
+     * be given.
+     */
+    public static boolean claim(RewardHandler handler) {
+        Entry entry = PENDING.remove(handler.getToken());
+        if (entry == null) return false;
+        IN_FLIGHT.put(entry.token, entry);
+        if (SERVER != null) RaidJournal.rewardClaimed(SERVER.overworld().getGameTime(), entry.player, entry.token);
+        RaidHelper.REWARD_QUEUE.remove(entry.player, handler);
+        return true;
+    }
+
+    /**
+     * Queues a claimed reward's items for the player. The claim is complete once every stack has been handed out.
+     */
+    public static void deliver(RewardHandler handler, ServerPlayer player, List<ItemStack> items) {
+        DELIVERIES.add(new Delivery(handler.getToken(), player.getUUID(), new ArrayDeque<>(items)));
+    }
+
+    public static void tick() {
+        int budget = STACKS_PER_TICK;
+        int remaining = DELIVERIES.size();
+        while (budget > 0 && remaining-- > 0 && !DELIVERIES.isEmpty()) {
+            Delivery delivery = DELIVERIES.poll();
+            budget -= deliver(delivery, budget);
+        }
+    }
+
+    /**
+     * Hands out every queued item now, for when the server is stopping.
+     */
+    public static void flushDeliveries() {
+        while (!DELIVERIES.isEmpty()) deliver(DELIVERIES.poll(), Integer.MAX_VALUE);
+    }
+
+    private static int deliver(Delivery delivery, int budget) {
+        ServerPlayer player = SERVER == null ? null : SERVER.getPlayerList().getPlayer(delivery.player);
+        if (player == null) {
+            PARKED.computeIfAbsent(delivery.player, uuid -> new ArrayList<>()).add(delivery);
+            return 0;
+        }
+
+        int given = 0;
+        while (given < budget && !delivery.items.isEmpty()) {
+            ItemStack item = delivery.items.poll();
+            given++;
+            if (!player.getInventory().add(item)) {
+                ItemEntity itemEntity = player.drop(item, false);
+                if (itemEntity == null) continue;
+                itemEntity.setNoPickUpDelay();
+                itemEntity.setTarget(player.getUUID());
+            }
+        }
+
+        if (!delivery.items.isEmpty()) DELIVERIES.add(delivery);
+        else {
+            UNSAVED_CLAIMS.add(delivery.token);
+            if (RaidHelper.INSTANCE != null) RaidHelper.INSTANCE.setDirty();
+            if (!RaidHelper.REWARD_QUEUE.containsKey(player.getUUID())) offerNext(player);
+        }
+        return given;
+    }
+
+    /**
+     * Writes the claims completed since the last save. Called while the server saves, after player data.
+     */
+    static void commitClaims() {
+        if (UNSAVED_CLAIMS.isEmpty() || PATH == null) return;
+        for (UUID token : UNSAVED_CLAIMS) {
+            IN_FLIGHT.remove(token);
+            CompoundTag tag = new CompoundTag();
+            tag.putInt("t", CLAIM);
+            tag.putUUID("token", token);
+            append(tag);
+        }
+        CLAIM_RECORDS += UNSAVED_CLAIMS.size();
+        UNSAVED_CLAIMS.clear();
+        if (CLAIM_RECORDS > COMPACT_AFTER && CLAIM_RECORDS > PENDING.size()) compact();
+        WRITING.join();
+    }
+
+    private static void append(CompoundTag tag) {
+        if (PATH == null) return;
+        Path path = PATH;
+        WRITING = WRITING.thenRunAsync(() -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                NbtIo.write(tag, out);
+            }
+            catch (IOException e) {
+                CobblemonRaidDens.LOGGER.error("Could not append to the raid reward ledger", e);
+            }
+        }, Util.ioPool());
+    }
+
+    /**
+     * Rewrites the ledger with only the rewards that have not been claimed and saved.
+     */
+    private static void compact() {
+        if (PATH == null) return;
+        List<CompoundTag> records = new ArrayList<>();
+        PENDING.values().forEach(entry -> records.add(entry.save()));
+        IN_FLIGHT.values().forEach(entry -> records.add(entry.save()));
+        CLAIM_RECORDS = 0;
+
+        Path path = PATH;
+        WRITING = WRITING.thenRunAsync(() -> {
+            try {
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    for (CompoundTag tag : records) NbtIo.write(tag, out);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException e) {
+                CobblemonRaidDens.LOGGER.error("Could not compact the raid reward ledger", e);
+            }
+        }, Util.ioPool());
+    }
+
+    public static int getPending() {
+        return PENDING.size();
+    }
+
+    public static int getDelivering() {
+        return DELIVERIES.size() + PARKED.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Drops everything in memory. Claims not yet saved are not written, so their rewards are offered again.
+     */
+    public static void clear() {
+        WRITING.join();
+        PENDING.clear();
+        IN_FLIGHT.clear();
+        UNSAVED_CLAIMS.clear();
+        DELIVERIES.clear();
+        PARKED.clear();
+        SERVER = null;
+        PATH = null;
+        CLAIM_RECORDS = 0;
+    }
+
+    private record Entry(UUID token, UUID player, ResourceLocation boss, boolean isCatchable, @Nullable CompoundTag reward) {
+        private CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putInt("t", ISSUE);
+            tag.putUUID("token", this.token);
+            tag.putUUID("player", this.player);
+            tag.putString("boss", this.boss.toString());
+            tag.putBoolean("catchable", this.isCatchable);
+            if (this.reward != null) tag.put("reward", this.reward);
+            return tag;
+        }
+
+        private static @Nullable Entry load(CompoundTag tag) {
+            if (!tag.hasUUID("token") || !tag.hasUUID("player")) return null;
+            ResourceLocation boss = ResourceLocation.tryParse(tag.getString("boss"));
+            if (boss == null) return null;
+            return new Entry(
+                tag.getUUID("token"), tag.getUUID("player"), boss, tag.getBoolean("catchable"),
+                tag.contains("reward") ? tag.getCompound("reward") : null
+            );
+        }
+    }
+
+    private record Delivery(UUID token, UUID player, Deque<ItemStack> items) {}
+}
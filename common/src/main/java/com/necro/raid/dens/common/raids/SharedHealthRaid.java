@@ -0,0 +1,233 @@
+package com.necro.raid.dens.common.raids;
+
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.necro.raid.dens.common.journal.RaidJournal;
+import com.necro.raid.dens.common.network.RaidMulticast;
+import com.necro.raid.dens.common.util.RaidTimeFormat;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The shared-health raid engine. A raid boss has one health pool that every participant's battles drain, a boss bar,
+ * a time limit and a participant group; how damage is dealt and what happens when the raid ends is left to the mode.
+ * <p>
+ * Every running raid, whatever its mode, is kept in one registry and ticked from one loop, and players are tracked
+ * in one membership index so a player can only ever be in a single raid.
+ */
+public abstract class SharedHealthRaid {
+    public static final RaidMembership MEMBERSHIP = new RaidMembership();
+    private static final Map<UUID, SharedHealthRaid> RUNNING = new HashMap<>();
+    private static SharedHealthRaid[] TICKING_RAIDS = new SharedHealthRaid[0];
+
+    protected final PokemonEntity bossEntity;
+    protected final RaidBoss raidBoss;
+    protected final ServerBossEvent bossEvent;
+    protected final Component bossName;
+    private final BossBarTitle bossBarTitle;
+    protected final RaidParticipants participants;
+    protected final RaidMulticast multicast;
+    protected final HealthSync healthSync;
+
+    protected float currentHealth;
+    protected float maxHealth;
+    protected int remainingTicks;
+    protected final int totalTicks;
+    private boolean ended;
+
+    protected SharedHealthRaid(PokemonEntity bossEntity, RaidBoss raidBoss, ServerBossEvent bossEvent, int durationTicks) {
+        this.bossEntity = bossEntity;
+        this.raidBoss = raidBoss;
+        this.bossEvent = bossEvent;
+        this.bossName = bossEntity.getName();
+        this.bossBarTitle = new BossBarTitle(this.bossName);
+        this.participants = new RaidParticipants();
+        this.multicast = new RaidMulticast();
+        this.healthSync = new HealthSync();
+        this.remainingTicks = durationTicks;
+        this.totalTicks = durationTicks;
+        this.ended = false;
+    }
+
+    /**
+     * Adds this raid to the tick loop. Called once the raid's id is final.
+     */
+    protected void register() {
+        RUNNING.put(this.getRaidId(), this);
+    }
+
+    public abstract UUID getRaidId();
+
+    /**
+     * Whether the raid timer counts down this tick.
+     */
+    protected abstract boolean isTimerRunning();
+
+    /**
+     * Called once when the raid timer runs out.
+     */
+    protected abstract void onTimeout();
+
+    /**
+     * Called every tick before the timer, for mode-specific bookkeeping.
+     */
+    protected void onTick() {}
+
+    /**
+     * Extra text appended to the boss bar after the remaining time, or null for none. Return the same instance until
+     * the text changes; the title is only rebuilt when it does.
+     */
+    protected @Nullable Component getBossBarSuffix() {
+        return null;
+    }
+
+    /**
+     * Adds a player to the raid's group and membership index. Returns false if they were already a participant. A
+     * player moving in from another raid is detached from it first.
+     */
+    protected boolean join(ServerPlayer player) {
+        if (this.hasPlayer(player)) return false;
+        UUID previous = MEMBERSHIP.join(this.getRaidId(), player.getUUID());
+        SharedHealthRaid previousRaid = previous == null ? null : RUNNING.get(previous);
+        if (previousRaid != null) previousRaid.detach(player);
+
+        this.participants.add(player);
+        this.multicast.add(player);
+        this.bossEvent.addPlayer(player);
+        RaidJournal.player(RaidJournal.JOIN, this.getRaidId(), this.getGameTime(), player.getUUID());
+        return true;
+    }
+
+    /**
+     * Removes a player from the raid's group and membership index.
+     */
+    protected boolean leave(ServerPlayer player) {
+        MEMBERSHIP.leave(this.getRaidId(), player.getUUID());
+        if (!this.detach(player)) return false;
+        RaidJournal.player(RaidJournal.LEAVE, this.getRaidId(), this.getGameTime(), player.getUUID());
+        return true;
+    }
+
+    protected boolean detach(ServerPlayer player) {
+        this.multicast.remove(player);
+        this.bossEvent.removePlayer(player);
+        return this.participants.remove(player);
+    }
+
+    public boolean hasPlayer(ServerPlayer player) {
+        return MEMBERSHIP.isMember(this.getRaidId(), player.getUUID());
+    }
+
+    protected void setHealth(float health) {
+        this.currentHealth = Math.clamp(health, 0f, this.maxHealth);
+        this.healthSync.markDirty(this.getHealthRatio());
+        this.bossEvent.setProgress(this.getHealthRatio());
+    }
+
+    public float getHealthRatio() {
+        return this.currentHealth / this.maxHealth;
+    }
+
+    protected long getGameTime() {
+        return this.bossEntity.level().getGameTime();
+    }
+
+    public void tick() {
+        if (this.ended) return;
+        this.healthSync.tick(this.multicast, this.getGameTime());
+        this.onTick();
+        if (this.remainingTicks <= 0 || !this.isTimerRunning()) return;
+
+        this.remainingTicks--;
+        if (this.remainingTicks % 20 == 0) {
+            int remainingSeconds = this.remainingTicks / 20;
+            this.bossBarTitle.update(this.bossEvent, RaidTimeFormat.getSuffix(remainingSeconds), this.getBossBarSuffix());
+
+            if (remainingSeconds == 300 || remainingSeconds == 180 ||
+                remainingSeconds == 60 || remainingSeconds == 30 ||
+                remainingSeconds == 10 || (remainingSeconds <= 5 && remainingSeconds > 0)) {
+                this.broadcastTimeWarning(remainingSeconds);
+            }
+        }
+
+        if (this.remainingTicks == 0) this.onTimeout();
+    }
+
+    private void broadcastTimeWarning(int remainingSeconds) {
+        Component warning = Component.translatable(
+            remainingSeconds >= 60 ? "message.cobblemonraiddens.coop_raid.time_warning_minutes" : "message.cobblemonraiddens.coop_raid.time_warning_seconds",
+            remainingSeconds >= 60 ? remainingSeconds / 60 : remainingSeconds
+        ).withStyle(remainingSeconds <= 10 ? ChatFormatting.RED : ChatFormatting.GOLD);
+        this.broadcastMessage(warning);
+    }
+
+    protected void broadcastMessage(Component message) {
+        for (int i = 0; i < this.participants.size(); i++) this.participants.getPlayer(i).sendSystemMessage(message);
+    }
+
+    /**
+     * Takes the raid out of the tick loop and membership index and hides its boss bar. Participant state is kept so
+     * the mode can still hand out results.
+     */
+    protected void finish() {
+        if (this.ended) return;
+        this.ended = true;
+        this.bossEvent.setVisible(false);
+        this.bossEvent.removeAllPlayers();
+        MEMBERSHIP.stop(this.getRaidId());
+        RUNNING.remove(this.getRaidId());
+    }
+
+    public boolean hasEnded() {
+        return this.ended;
+    }
+
+    public PokemonEntity getBossEntity() {
+        return this.bossEntity;
+    }
+
+    public RaidBoss getRaidBoss() {
+        return this.raidBoss;
+    }
+
+    public List<ServerPlayer> getPlayers() {
+        return this.participants.asList();
+    }
+
+    public RaidMulticast getMulticast() {
+        return this.multicast;
+    }
+
+    public HealthSync getHealthSync() {
+        return this.healthSync;
+    }
+
+    public int getRemainingTicks() {
+        return this.remainingTicks;
+    }
+
+    public static @Nullable SharedHealthRaid get(UUID raidId) {
+        return RUNNING.get(raidId);
+    }
+
+    public static Map<UUID, SharedHealthRaid> getRunning() {
+        return Collections.unmodifiableMap(RUNNING);
+    }
+
+    public static void tickAll() {
+        // Snapshot into a reused array so raids can finish mid-iteration without a copy every tick
+        int count = RUNNING.size();
+        TICKING_RAIDS = RUNNING.values().toArray(TICKING_RAIDS);
+        for (int i = 0; i < count; i++) TICKING_RAIDS[i].tick();
+        Arrays.fill(TICKING_RAIDS, 0, count, null);
+    }
+
+    public static void clear() {
+        RUNNING.clear();
+        MEMBERSHIP.clear();
+    }
+}
@@ -4,6 +4,7 @@ import com.google.gson.JsonObject;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.JsonOps;
 import com.necro.raid.dens.common.CobblemonRaidDens;
+import com.necro.raid.dens.common.loot.LootItemPrototypes;
 import com.necro.raid.dens.common.raids.RaidBossAdditions;
 import com.necro.raid.dens.common.raids.RaidTier;
 import com.necro.raid.dens.common.util.RaidRegistry;
@@ -40,5 +41,6 @@ public class BossAdditionsReloadImpl extends AbstractReloadImpl {
     protected void postLoad() {
         RaidRegistry.registerAll();
         RaidTier.updateRandom();
+        LootItemPrototypes.resolve();
     }
 }
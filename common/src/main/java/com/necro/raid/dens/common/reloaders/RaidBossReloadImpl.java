@@ -5,6 +5,7 @@ import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.JsonOps;
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.raids.RaidBoss;
+import com.necro.raid.dens.common.util.RaidBossInterner;
 import com.necro.raid.dens.common.util.RaidRegistry;
 import net.minecraft.resources.ResourceLocation;
 
@@ -18,6 +19,7 @@ public class RaidBossReloadImpl extends AbstractReloadImpl {
     @Override
     protected void preLoad() {
         RaidRegistry.clear();
+        RaidBossInterner.clear();
     }
 
     @Override
@@ -16,7 +16,9 @@ public class RaidDenPoolReloadImpl extends AbstractReloadImpl {
     }
 
     @Override
-    protected void preLoad() {}
+    protected void preLoad() {
+        RaidDenRegistry.clearPools();
+    }
 
     @Override
     protected void onLoad(ResourceLocation key, JsonObject object) {
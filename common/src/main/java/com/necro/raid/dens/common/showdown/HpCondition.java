@@ -0,0 +1,54 @@
+package com.necro.raid.dens.common.showdown;
+
+/**
+ * Reads Showdown HP condition tokens in place. Cobblemon emits {@code cur/max}, {@code cur/max status} (e.g.
+ * {@code 45/100 par}) and {@code 0 fnt} once a Pokemon faints. Nothing is split or copied, and a malformed token,
+ * or one whose whole part is too long to fit an int, reads as {@link #INVALID}.
+ */
+public class HpCondition {
+    public static final float INVALID = -1f;
+    private static final int MAX_DIGITS = 9;
+
+    public static float current(String token) {
+        if (token == null) return INVALID;
+        return parseNumber(token, 0, endOfNumber(token, 0));
+    }
+
+    public static boolean isFainted(String token) {
+        if (token == null) return false;
+        else if (token.endsWith("fnt")) return true;
+        return current(token) == 0f;
+    }
+
+    private static int endOfNumber(String token, int from) {
+        int i = from;
+        while (i < token.length()) {
+            char c = token.charAt(i);
+            if (c == '/' || c == ' ') break;
+            i++;
+        }
+        return i;
+    }
+
+    private static float parseNumber(String token, int from, int to) {
+        if (from >= to) return INVALID;
+        int digits = 0;
+        int whole = 0;
+        int fraction = 0;
+        int scale = 1;
+        boolean decimal = false;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            if (c == '.' && !decimal) decimal = true;
+            else if (c < '0' || c > '9') return INVALID;
+            else if (decimal) {
+                if (scale >= 1_000_000) continue;
+                fraction = fraction * 10 + (c - '0');
+                scale *= 10;
+            }
+            else if (++digits > MAX_DIGITS) return INVALID;
+            else whole = whole * 10 + (c - '0');
+        }
+        return whole + (float) fraction / scale;
+    }
+}
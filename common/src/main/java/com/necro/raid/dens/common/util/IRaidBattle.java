@@ -1,6 +1,8 @@
 package com.necro.raid.dens.common.util;
 
+import com.cobblemon.mod.common.api.battles.interpreter.BattleMessage;
 import com.cobblemon.mod.common.api.battles.model.PokemonBattle;
+import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
 import com.necro.raid.dens.common.raids.RaidInstance;
 
 import java.util.function.BiConsumer;
@@ -10,4 +12,26 @@ public interface IRaidBattle {
     RaidInstance getRaidBattle();
     void setRaidBattle(RaidInstance raidBattle);
     void addToQueue(BiConsumer<RaidInstance, PokemonBattle> instruction);
+    String getBossSlot();
+    void setBossSlot(String bossSlot);
+
+    /**
+     * Whether a battle instruction's message targets the raid boss. The boss's slot (e.g. {@code p2a}) is resolved
+     * once per battle and later instructions only compare the position prefix.
+     */
+    static boolean isBossSlot(PokemonBattle battle, BattleMessage message) {
+        String position = message.argumentAt(0);
+        if (position == null) return false;
+        IRaidBattle raidBattle = (IRaidBattle) battle;
+        String bossSlot = raidBattle.getBossSlot();
+        if (bossSlot != null) return position.startsWith(bossSlot);
+
+        BattlePokemon battlePokemon = message.battlePokemon(0, battle);
+        if (battlePokemon == null || battlePokemon.getEntity() == null) return false;
+        else if (!((IRaidAccessor) battlePokemon.getEntity()).isRaidBoss()) return false;
+
+        int colon = position.indexOf(':');
+        raidBattle.setBossSlot(colon < 0 ? position : position.substring(0, colon));
+        return true;
+    }
 }
@@ -0,0 +1,127 @@
+package com.necro.raid.dens.common.util;
+
+import com.cobblemon.mod.common.api.pokemon.feature.FlagSpeciesFeature;
+import com.cobblemon.mod.common.api.pokemon.feature.IntSpeciesFeature;
+import com.cobblemon.mod.common.api.pokemon.feature.SpeciesFeature;
+import com.cobblemon.mod.common.api.pokemon.feature.StringSpeciesFeature;
+
+import java.util.*;
+
+/**
+ * Deduplicates structurally equal {@link com.necro.raid.dens.common.raids.RaidBoss} sub-objects into shared
+ * immutable instances. Pools are rebuilt on every datapack reload, and anything handed out here must never be
+ * mutated in place. Features are applied to Pokemon through {@link #copy}, since a Pokemon holds on to the feature
+ * instance it was given.
+ */
+public class RaidBossInterner {
+    private static final Map<String, String> STRINGS = new HashMap<>();
+    private static final Map<List<String>, List<String>> STRING_LISTS = new HashMap<>();
+    private static final Map<Map<String, String>, Map<String, String>> SCRIPTS = new HashMap<>();
+    private static final Map<FeatureKey, SpeciesFeature> FEATURES = new HashMap<>();
+    private static final Map<List<SpeciesFeature>, List<SpeciesFeature>> FEATURE_LISTS = new HashMap<>();
+
+    private static long REQUESTS = 0;
+    private static long REQUESTED_BYTES = 0;
+    private static long RETAINED_BYTES = 0;
+
+    private static final int HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    public static synchronized String string(String value) {
+        if (value == null) return null;
+        return intern(STRINGS, value, sizeOf(value));
+    }
+
+    public static synchronized List<String> strings(List<String> value) {
+        if (value == null) return null;
+        List<String> interned = new ArrayList<>(value.size());
+        for (String s : value) interned.add(string(s));
+        return intern(STRING_LISTS, List.copyOf(interned), listSize(value.size()));
+    }
+
+    public static synchronized Map<String, String> script(Map<String, String> value) {
+        if (value == null) return null;
+        Map<String, String> interned = new HashMap<>();
+        for (Map.Entry<String, String> entry : value.entrySet()) {
+            interned.put(string(entry.getKey()), string(entry.getValue()));
+        }
+        return intern(SCRIPTS, Map.copyOf(interned), HEADER + 2L * REFERENCE * value.size());
+    }
+
+    public static synchronized List<SpeciesFeature> forms(List<SpeciesFeature> value) {
+        if (value == null) return null;
+        List<SpeciesFeature> interned = new ArrayList<>(value.size());
+        long size = listSize(value.size());
+        for (SpeciesFeature form : value) {
+            interned.add(feature(form));
+            size += HEADER + 2 * REFERENCE + sizeOf(form.getName());
+        }
+        return intern(FEATURE_LISTS, List.copyOf(interned), size);
+    }
+
+    private static SpeciesFeature feature(SpeciesFeature form) {
+        Object value;
+        if (form instanceof StringSpeciesFeature ssf) value = ssf.getValue();
+        else if (form instanceof FlagSpeciesFeature fsf) value = fsf.getEnabled();
+        else if (form instanceof IntSpeciesFeature isf) value = isf.getValue();
+        else return form;
+        return FEATURES.computeIfAbsent(new FeatureKey(form.getClass(), form.getName(), value), key -> form);
+    }
+
+    /**
+     * A private copy of a pooled feature for applying to a Pokemon, which keeps the instance it is given.
+     */
+    public static SpeciesFeature copy(SpeciesFeature form) {
+        if (form instanceof StringSpeciesFeature ssf) return new StringSpeciesFeature(ssf.getName(), ssf.getValue());
+        else if (form instanceof FlagSpeciesFeature fsf) return new FlagSpeciesFeature(fsf.getName(), fsf.getEnabled());
+        else if (form instanceof IntSpeciesFeature isf) return new IntSpeciesFeature(isf.getName(), isf.getValue());
+        return form;
+    }
+
+    private static <T> T intern(Map<T, T> pool, T key, long size) {
+        REQUESTS++;
+        REQUESTED_BYTES += size;
+        T existing = pool.get(key);
+        if (existing != null) return existing;
+        pool.put(key, key);
+        RETAINED_BYTES += size;
+        return key;
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : HEADER + 8 + REFERENCE + HEADER + value.length();
+    }
+
+    private static long listSize(int elements) {
+        return HEADER + REFERENCE + HEADER + (long) REFERENCE * elements;
+    }
+
+    public static synchronized int getPooled() {
+        return STRINGS.size() + STRING_LISTS.size() + SCRIPTS.size() + FEATURES.size() + FEATURE_LISTS.size();
+    }
+
+    public static synchronized long getRequests() {
+        return REQUESTS;
+    }
+
+    public static synchronized long getRequestedBytes() {
+        return REQUESTED_BYTES;
+    }
+
+    public static synchronized long getRetainedBytes() {
+        return RETAINED_BYTES;
+    }
+
+    public static synchronized void clear() {
+        STRINGS.clear();
+        STRING_LISTS.clear();
+        SCRIPTS.clear();
+        FEATURES.clear();
+        FEATURE_LISTS.clear();
+        REQUESTS = 0;
+        REQUESTED_BYTES = 0;
+        RETAINED_BYTES = 0;
+    }
+
+    private record FeatureKey(Class<?> type, String name, Object value) {}
+}
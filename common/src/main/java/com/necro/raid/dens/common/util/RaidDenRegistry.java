@@ -6,8 +6,10 @@ import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.phys.Vec3;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,7 +19,11 @@ public class RaidDenRegistry {
 
     private static final Map<ResourceLocation, RaidDenPool> DEN_POOL = new HashMap<>();
 
-    private static final Map<ResourceLocation, RaidStructureData> TEMPLATES = new HashMap<>();
+    private static final List<ResourceLocation> TEMPLATE_LIST = new ArrayList<>();
+    private static final List<RaidStructureData> TEMPLATE_DATA = new ArrayList<>();
+    private static final Map<ResourceLocation, Integer> TEMPLATE_INDEX = new HashMap<>();
+    private static int GENERATION = 0;
+
     public static final ResourceLocation DEFAULT = ResourceLocation.fromNamespaceAndPath(CobblemonRaidDens.MOD_ID, "raid_den/basic");
 
     public static void register(RaidDenPool pool) {
@@ -26,7 +32,14 @@ public class RaidDenRegistry {
     }
 
     public static void register(ResourceLocation structure, CompoundTag tag) {
-        TEMPLATES.put(structure, new RaidStructureData(tag));
+        Integer index = TEMPLATE_INDEX.get(structure);
+        if (index != null) {
+            TEMPLATE_DATA.set(index, new RaidStructureData(tag));
+            return;
+        }
+        TEMPLATE_INDEX.put(structure, TEMPLATE_LIST.size());
+        TEMPLATE_LIST.add(structure);
+        TEMPLATE_DATA.add(new RaidStructureData(tag));
     }
 
     public static List<ResourceLocation> getStructures(ResourceLocation pool) {
@@ -35,26 +48,69 @@ public class RaidDenRegistry {
     }
 
     public static boolean isNotValidStructure(ResourceLocation structure) {
-        return !TEMPLATES.containsKey(structure);
+        return !TEMPLATE_INDEX.containsKey(structure);
     }
 
     public static Vec3 getOffset(ResourceLocation structure) {
-        if (!TEMPLATES.containsKey(structure)) return TEMPLATES.get(DEFAULT).offset;
-        return TEMPLATES.get(structure).offset;
+        return getData(structure).offset;
     }
 
     public static Vec3 getPlayerPos(ResourceLocation structure) {
-        if (!TEMPLATES.containsKey(structure)) return TEMPLATES.get(DEFAULT).playerPos;
-        return TEMPLATES.get(structure).playerPos;
+        return getData(structure).playerPos;
     }
 
     public static Vec3 getBossPos(ResourceLocation structure) {
-        if (!TEMPLATES.containsKey(structure)) return TEMPLATES.get(DEFAULT).bossPos;
-        return TEMPLATES.get(structure).bossPos;
+        return getData(structure).bossPos;
+    }
+
+    private static RaidStructureData getData(ResourceLocation structure) {
+        Integer index = TEMPLATE_INDEX.get(structure);
+        if (index == null) index = TEMPLATE_INDEX.get(DEFAULT);
+        return TEMPLATE_DATA.get(index);
+    }
+
+    /**
+     * Compiles a boss den list ({@code #pool} or template ids) into template indices. Entries that appear more than
+     * once keep their multiplicity, so a uniform pick over the result is the weighted pick over the den list.
+     */
+    public static int[] compileDens(List<String> dens) {
+        List<Integer> indices = new ArrayList<>();
+        for (String value : dens) {
+            if (value.startsWith("#")) {
+                for (ResourceLocation structure : getStructures(ResourceLocation.parse(value.substring(1)))) {
+                    Integer index = TEMPLATE_INDEX.get(structure);
+                    if (index != null) indices.add(index);
+                }
+            }
+            else {
+                Integer index = TEMPLATE_INDEX.get(ResourceLocation.parse(value));
+                if (index != null) indices.add(index);
+            }
+        }
+        if (indices.isEmpty() && TEMPLATE_INDEX.containsKey(DEFAULT)) indices.add(TEMPLATE_INDEX.get(DEFAULT));
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static ResourceLocation sampleDen(int[] sampler, RandomSource random) {
+        if (sampler.length == 0) return DEFAULT;
+        else if (sampler.length == 1) return TEMPLATE_LIST.get(sampler[0]);
+        else return TEMPLATE_LIST.get(sampler[random.nextInt(sampler.length)]);
+    }
+
+    public static int getGeneration() {
+        return GENERATION;
+    }
+
+    public static void clearPools() {
+        DEN_POOL.clear();
+        GENERATION++;
     }
 
     public static void clear() {
-        TEMPLATES.clear();
+        TEMPLATE_LIST.clear();
+        TEMPLATE_DATA.clear();
+        TEMPLATE_INDEX.clear();
+        GENERATION++;
     }
 
     private static class RaidStructureData {
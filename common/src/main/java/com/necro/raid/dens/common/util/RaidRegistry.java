@@ -45,6 +45,8 @@ public class RaidRegistry {
             RAIDS_BY_TIER.computeIfAbsent(raidBoss.getTier(), tier -> new BitSet()).set(index);
             RAIDS_BY_TYPE.computeIfAbsent(raidBoss.getType(), type -> new BitSet()).set(index);
             RAIDS_BY_FEATURE.computeIfAbsent(raidBoss.getFeature(), feature -> new BitSet()).set(index);
+            raidBoss.compileDens();
+            raidBoss.compileScript();
 
             if (raidBoss.getWeight() > 0.0) {
                 raidBoss.getTier().setPresent();
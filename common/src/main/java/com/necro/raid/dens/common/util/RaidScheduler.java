@@ -0,0 +1,98 @@
+package com.necro.raid.dens.common.util;
+
+import com.necro.raid.dens.common.CobblemonRaidDens;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel for delayed server-thread work. Scheduling and cancelling are constant time, and each tick only
+ * visits the one slot the wheel lands on, so pending timers far in the future cost nothing until their slot comes up.
+ */
+public class RaidScheduler {
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private static final List<Task>[] WHEEL = new List[WHEEL_SIZE];
+    private static List<Task> SPARE = new ArrayList<>();
+    private static long CURRENT_TICK = 0;
+
+    static {
+        for (int i = 0; i < WHEEL_SIZE; i++) WHEEL[i] = new ArrayList<>();
+    }
+
+    public static Task schedule(int delay, Runnable runnable) {
+        return insert(new Task(runnable, 0, CURRENT_TICK + Math.max(1, delay)));
+    }
+
+    public static Task scheduleRepeating(int interval, Runnable runnable) {
+        interval = Math.max(1, interval);
+        return insert(new Task(runnable, interval, CURRENT_TICK + interval));
+    }
+
+    private static Task insert(Task task) {
+        WHEEL[(int) (task.deadline & WHEEL_MASK)].add(task);
+        return task;
+    }
+
+    public static void tick() {
+        CURRENT_TICK++;
+        int slot = (int) (CURRENT_TICK & WHEEL_MASK);
+        List<Task> tasks = WHEEL[slot];
+        if (tasks.isEmpty()) return;
+
+        WHEEL[slot] = SPARE;
+        for (Task task : tasks) {
+            if (task.cancelled) continue;
+            else if (task.deadline > CURRENT_TICK) {
+                WHEEL[slot].add(task);
+                continue;
+            }
+
+            try {
+                task.runnable.run();
+            }
+            catch (Exception e) {
+                CobblemonRaidDens.LOGGER.error("Error while running scheduled raid task: ", e);
+            }
+
+            if (task.interval > 0 && !task.cancelled) {
+                task.deadline += task.interval;
+                insert(task);
+            }
+            else task.cancelled = true;
+        }
+        tasks.clear();
+        SPARE = tasks;
+    }
+
+    public static void clear() {
+        for (List<Task> tasks : WHEEL) {
+            tasks.forEach(Task::cancel);
+            tasks.clear();
+        }
+    }
+
+    public static class Task {
+        private final Runnable runnable;
+        private final int interval;
+        private long deadline;
+        private boolean cancelled;
+
+        private Task(Runnable runnable, int interval, long deadline) {
+            this.runnable = runnable;
+            this.interval = interval;
+            this.deadline = deadline;
+            this.cancelled = false;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isDone() {
+            return this.cancelled;
+        }
+    }
+}
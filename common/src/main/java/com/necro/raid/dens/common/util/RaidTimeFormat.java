@@ -0,0 +1,39 @@
+package com.necro.raid.dens.common.util;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+
+import java.util.Arrays;
+
+/**
+ * Pre-rendered {@code m:ss} raid timers. Every raid shares the same strings and boss bar suffixes, so ticking a raid
+ * timer never formats or builds text once a given second has been seen.
+ */
+public class RaidTimeFormat {
+    private static String[] TIMES = new String[0];
+    private static Component[] SUFFIXES = new Component[0];
+
+    public static String format(int remainingSeconds) {
+        int seconds = Math.max(0, remainingSeconds);
+        ensureCapacity(seconds);
+        return TIMES[seconds];
+    }
+
+    public static Component getSuffix(int remainingSeconds) {
+        int seconds = Math.max(0, remainingSeconds);
+        ensureCapacity(seconds);
+        return SUFFIXES[seconds];
+    }
+
+    private static void ensureCapacity(int seconds) {
+        if (seconds < TIMES.length) return;
+        int from = TIMES.length;
+        int size = Math.max(seconds + 1, from * 2);
+        TIMES = Arrays.copyOf(TIMES, size);
+        SUFFIXES = Arrays.copyOf(SUFFIXES, size);
+        for (int i = from; i < size; i++) {
+            TIMES[i] = (i / 60) + ":" + (i % 60 < 10 ? "0" : "") + (i % 60);
+            SUFFIXES[i] = Component.literal(" - " + TIMES[i]).withStyle(ChatFormatting.AQUA);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.necro.raid.dens.common.util.collections;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash table keyed by the two halves of a UUID. Keys live in two parallel long arrays and subclasses
+ * keep their values in arrays of the same capacity, so an entry costs two longs, a flag and its value with nothing
+ * boxed. Collisions probe linearly and removal shifts the following entries back, so no tombstones build up.
+ */
+public abstract class UuidHashTable {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] most;
+    private long[] least;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    protected UuidHashTable() {
+        this.most = new long[0];
+        this.least = new long[0];
+        this.used = new boolean[0];
+        this.size = 0;
+        this.mask = 0;
+        this.resizeAt = 0;
+    }
+
+    /**
+     * Replaces the value array with an empty one of the given capacity and returns the old one.
+     */
+    protected abstract Object swapValues(int capacity);
+
+    protected abstract void copyValue(Object from, int fromIndex, int toIndex);
+
+    protected abstract void moveValue(int fromIndex, int toIndex);
+
+    protected void clearValue(int index) {}
+
+    private static int hash(long most, long least) {
+        long h = most ^ least;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    protected int indexOf(long most, long least) {
+        if (this.size == 0) return -1;
+        int i = hash(most, least) & this.mask;
+        while (this.used[i]) {
+            if (this.most[i] == most && this.least[i] == least) return i;
+            i = (i + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    protected int indexOf(UUID uuid) {
+        return this.indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Finds the key's slot, adding the key if it is missing. Returns the slot if the key was already there, or
+     * {@code -slot - 1} if it was just added.
+     */
+    protected int insert(long most, long least) {
+        int existing = this.indexOf(most, least);
+        if (existing >= 0) return existing;
+
+        if (this.size >= this.resizeAt) this.resize(this.used.length == 0 ? INITIAL_CAPACITY : this.used.length * 2);
+        int i = hash(most, least) & this.mask;
+        while (this.used[i]) i = (i + 1) & this.mask;
+        this.used[i] = true;
+        this.most[i] = most;
+        this.least[i] = least;
+        this.size++;
+        return -i - 1;
+    }
+
+    protected void removeAt(int index) {
+        int gap = index;
+        int i = (index + 1) & this.mask;
+        while (this.used[i]) {
+            int ideal = hash(this.most[i], this.least[i]) & this.mask;
+            // Entries whose probe path passes through the gap move back into it
+            if (((i - ideal) & this.mask) >= ((i - gap) & this.mask)) {
+                this.most[gap] = this.most[i];
+                this.least[gap] = this.least[i];
+                this.moveValue(i, gap);
+                gap = i;
+            }
+            i = (i + 1) & this.mask;
+        }
+        this.used[gap] = false;
+        this.clearValue(gap);
+        this.size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldMost = this.most;
+        long[] oldLeast = this.least;
+        boolean[] oldUsed = this.used;
+        Object oldValues = this.swapValues(capacity);
+
+        this.most = new long[capacity];
+        this.least = new long[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+
+        for (int j = 0; j < oldUsed.length; j++) {
+            if (!oldUsed[j]) continue;
+            int i = hash(oldMost[j], oldLeast[j]) & this.mask;
+            while (this.used[i]) i = (i + 1) & this.mask;
+            this.used[i] = true;
+            this.most[i] = oldMost[j];
+            this.least[i] = oldLeast[j];
+            this.copyValue(oldValues, j, i);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.used.length; i++) {
+            if (!this.used[i]) continue;
+            this.used[i] = false;
+            this.clearValue(i);
+        }
+        this.size = 0;
+    }
+
+    protected int capacity() {
+        return this.used.length;
+    }
+
+    protected boolean isUsed(int index) {
+        return this.used[index];
+    }
+
+    protected UUID keyAt(int index) {
+        return new UUID(this.most[index], this.least[index]);
+    }
+
+    public void forEachKey(Consumer<UUID> consumer) {
+        for (int i = 0; i < this.used.length; i++) {
+            if (this.used[i]) consumer.accept(this.keyAt(i));
+        }
+    }
+
+    public UUID[] keysToArray() {
+        UUID[] keys = new UUID[this.size];
+        int j = 0;
+        for (int i = 0; i < this.used.length; i++) {
+            if (this.used[i]) keys[j++] = this.keyAt(i);
+        }
+        return keys;
+    }
+
+    /**
+     * The keys as most/least pairs, for saving.
+     */
+    public long[] toLongArray() {
+        long[] values = new long[this.size * 2];
+        int j = 0;
+        for (int i = 0; i < this.used.length; i++) {
+            if (!this.used[i]) continue;
+            values[j++] = this.most[i];
+            values[j++] = this.least[i];
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        this.forEachKey(uuid -> builder.append(builder.length() > 1 ? ", " : "").append(uuid));
+        return builder.append(']').toString();
+    }
+}
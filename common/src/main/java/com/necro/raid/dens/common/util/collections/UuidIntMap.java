@@ -0,0 +1,52 @@
+package com.necro.raid.dens.common.util.collections;
+
+import java.util.UUID;
+
+/**
+ * A map from UUIDs to primitive ints.
+ */
+public class UuidIntMap extends UuidHashTable {
+    private int[] values = new int[0];
+
+    public int get(UUID uuid, int fallback) {
+        int index = this.indexOf(uuid);
+        return index < 0 ? fallback : this.values[index];
+    }
+
+    public boolean containsKey(UUID uuid) {
+        return this.indexOf(uuid) >= 0;
+    }
+
+    public void put(UUID uuid, int value) {
+        int index = this.insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        this.values[index < 0 ? -index - 1 : index] = value;
+    }
+
+    /**
+     * Removes the key and returns its value, or {@code fallback} if it was not present.
+     */
+    public int remove(UUID uuid, int fallback) {
+        int index = this.indexOf(uuid);
+        if (index < 0) return fallback;
+        int value = this.values[index];
+        this.removeAt(index);
+        return value;
+    }
+
+    @Override
+    protected Object swapValues(int capacity) {
+        int[] old = this.values;
+        this.values = new int[capacity];
+        return old;
+    }
+
+    @Override
+    protected void copyValue(Object from, int fromIndex, int toIndex) {
+        this.values[toIndex] = ((int[]) from)[fromIndex];
+    }
+
+    @Override
+    protected void moveValue(int fromIndex, int toIndex) {
+        this.values[toIndex] = this.values[fromIndex];
+    }
+}
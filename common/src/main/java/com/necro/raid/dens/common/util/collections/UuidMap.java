@@ -0,0 +1,83 @@
+package com.necro.raid.dens.common.util.collections;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A map from UUIDs to objects, with the keys stored as primitive long pairs.
+ */
+public class UuidMap<V> extends UuidHashTable {
+    private Object[] values = new Object[0];
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(UUID uuid) {
+        int index = this.indexOf(uuid);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    public boolean containsKey(UUID uuid) {
+        return this.indexOf(uuid) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(UUID uuid, V value) {
+        int index = this.insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) {
+            this.values[-index - 1] = value;
+            return null;
+        }
+        V old = (V) this.values[index];
+        this.values[index] = value;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(UUID uuid, Function<UUID, V> function) {
+        int index = this.indexOf(uuid);
+        if (index >= 0) return (V) this.values[index];
+        V value = function.apply(uuid);
+        this.put(uuid, value);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(UUID uuid) {
+        int index = this.indexOf(uuid);
+        if (index < 0) return null;
+        V value = (V) this.values[index];
+        this.removeAt(index);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> consumer) {
+        for (int i = 0; i < this.capacity(); i++) {
+            if (this.isUsed(i)) consumer.accept(this.keyAt(i), (V) this.values[i]);
+        }
+    }
+
+    @Override
+    protected Object swapValues(int capacity) {
+        Object[] old = this.values;
+        this.values = new Object[capacity];
+        return old;
+    }
+
+    @Override
+    protected void copyValue(Object from, int fromIndex, int toIndex) {
+        this.values[toIndex] = ((Object[]) from)[fromIndex];
+    }
+
+    @Override
+    protected void moveValue(int fromIndex, int toIndex) {
+        this.values[toIndex] = this.values[fromIndex];
+    }
+
+    @Override
+    protected void clearValue(int index) {
+        this.values[index] = null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.necro.raid.dens.common.util.collections;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A set of UUIDs stored as primitive long pairs.
+ */
+public class UuidSet extends UuidHashTable {
+    public boolean add(UUID uuid) {
+        return this.insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) < 0;
+    }
+
+    public void addAll(Collection<UUID> uuids) {
+        uuids.forEach(this::add);
+    }
+
+    /**
+     * Adds every most/least pair in the array, as written by {@link #toLongArray()}.
+     */
+    public void addAll(long[] values) {
+        for (int i = 0; i + 1 < values.length; i += 2) this.insert(values[i], values[i + 1]);
+    }
+
+    public boolean contains(UUID uuid) {
+        return this.indexOf(uuid) >= 0;
+    }
+
+    public boolean remove(UUID uuid) {
+        int index = this.indexOf(uuid);
+        if (index < 0) return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    public void removeAll(Collection<UUID> uuids) {
+        uuids.forEach(this::remove);
+    }
+
+    @Override
+    protected Object swapValues(int capacity) {
+        return null;
+    }
+
+    @Override
+    protected void copyValue(Object from, int fromIndex, int toIndex) {}
+
+    @Override
+    protected void moveValue(int fromIndex, int toIndex) {}
+}
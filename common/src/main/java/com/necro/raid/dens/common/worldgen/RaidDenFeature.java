@@ -6,6 +6,7 @@ import com.necro.raid.dens.common.blocks.entity.RaidCrystalBlockEntity;
 import com.necro.raid.dens.common.events.RaidDenSpawnEvent;
 import com.necro.raid.dens.common.events.RaidEvents;
 import com.necro.raid.dens.common.events.SetRaidBossEvent;
+import com.necro.raid.dens.common.raids.DenIndex;
 import com.necro.raid.dens.common.raids.RaidBoss;
 import com.necro.raid.dens.common.raids.RaidCycleMode;
 import com.necro.raid.dens.common.raids.RaidTier;
@@ -76,8 +77,9 @@ public class RaidDenFeature extends Feature<BlockStateConfiguration> {
 
         BlockEntity blockEntity = level.getBlockEntity(blockPos);
         if (!(blockEntity instanceof RaidCrystalBlockEntity raidCrystal)) return false;
-        raidCrystal.setRaidBoss(location, level.getRandom(), level.getLevel().getGameTime());
+        raidCrystal.setGeneratedRaidBoss(location, level.getRandom(), level.getLevel().getGameTime());
         raidCrystal.setRaidBucket(bucket);
+        DenIndex.update(level.getLevel().dimension(), DenIndex.DenEntry.of(raidCrystal, raidCrystal.getBlockState()));
 
         RaidEvents.RAID_DEN_SPAWN.emit(new RaidDenSpawnEvent(level.getLevel(), blockPos, raidBoss));
         return true;
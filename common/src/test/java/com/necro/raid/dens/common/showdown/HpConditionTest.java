@@ -0,0 +1,61 @@
+package com.necro.raid.dens.common.showdown;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HpConditionTest {
+    @Test
+    void readsCurrentOverMax() {
+        assertEquals(245f, HpCondition.current("245/300"));
+        assertEquals(1f, HpCondition.current("1/300"));
+        assertFalse(HpCondition.isFainted("245/300"));
+    }
+
+    @Test
+    void readsPercentConditions() {
+        assertEquals(48f, HpCondition.current("48/100"));
+        assertEquals(48.5f, HpCondition.current("48.5/100"));
+        assertEquals(100f, HpCondition.current("100/100"));
+    }
+
+    @Test
+    void ignoresStatusSuffix() {
+        assertEquals(45f, HpCondition.current("45/100 par"));
+        assertEquals(12f, HpCondition.current("12/80 tox"));
+        assertFalse(HpCondition.isFainted("45/100 par"));
+    }
+
+    @Test
+    void readsFainted() {
+        assertEquals(0f, HpCondition.current("0 fnt"));
+        assertTrue(HpCondition.isFainted("0 fnt"));
+        assertTrue(HpCondition.isFainted("0/300"));
+        assertTrue(HpCondition.isFainted("fnt"));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertEquals(HpCondition.INVALID, HpCondition.current(null));
+        assertEquals(HpCondition.INVALID, HpCondition.current(""));
+        assertEquals(HpCondition.INVALID, HpCondition.current("/100"));
+        assertEquals(HpCondition.INVALID, HpCondition.current("abc/100"));
+        assertEquals(HpCondition.INVALID, HpCondition.current("4x/100"));
+        assertEquals(HpCondition.INVALID, HpCondition.current("1.2.3/100"));
+        assertEquals(HpCondition.INVALID, HpCondition.current("-5/100"));
+        assertFalse(HpCondition.isFainted(null));
+        assertFalse(HpCondition.isFainted("abc"));
+    }
+
+    @Test
+    void rejectsWholePartsTooLongForAnInt() {
+        assertEquals(HpCondition.INVALID, HpCondition.current("99999999999/100"));
+        assertEquals(HpCondition.INVALID, HpCondition.current("2147483648/100"));
+        assertEquals(999_999_999f, HpCondition.current("999999999/1000000000"));
+    }
+
+    @Test
+    void capsFractionDigits() {
+        assertEquals(1.123456f, HpCondition.current("1.123456789/100"), 1e-6f);
+    }
+}
@@ -0,0 +1,176 @@
+package com.necro.raid.dens.common.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidHashTableTest {
+    /**
+     * Keys only hash by {@code most ^ least}, so every key built from the same constant collides.
+     */
+    private static UUID collidingKey(long constant, long n) {
+        return new UUID(n, n ^ constant);
+    }
+
+    /**
+     * A constant whose keys land in the given slot of a table at its initial capacity.
+     */
+    private static long constantForSlot(int slot) {
+        for (long constant = 0; ; constant++) {
+            UuidSet probe = new UuidSet();
+            if (-probe.insert(constant, 0) - 1 == slot) return constant;
+        }
+    }
+
+    @Test
+    void clusterWrapsAroundTheEndOfTheTable() {
+        UuidSet set = new UuidSet();
+        int last = 7;
+        long constant = constantForSlot(last);
+        UUID a = collidingKey(constant, 1);
+        UUID b = collidingKey(constant, 2);
+        UUID c = collidingKey(constant, 3);
+        set.add(a);
+        set.add(b);
+        set.add(c);
+        assertEquals(8, set.capacity());
+        assertEquals(last, set.indexOf(a));
+        assertEquals(0, set.indexOf(b));
+        assertEquals(1, set.indexOf(c));
+
+        assertTrue(set.remove(a));
+        assertFalse(set.contains(a));
+        assertEquals(last, set.indexOf(b));
+        assertEquals(0, set.indexOf(c));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(c));
+        assertTrue(set.contains(b));
+        assertFalse(set.contains(c));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void removalKeepsDisplacedEntriesReachable() {
+        UuidIntMap map = new UuidIntMap();
+        long first = constantForSlot(6);
+        long second = constantForSlot(7);
+        UUID a1 = collidingKey(first, 1);
+        UUID a2 = collidingKey(first, 2);
+        UUID b1 = collidingKey(second, 1);
+        map.put(a1, 1);
+        map.put(a2, 2);
+        map.put(b1, 3);
+        assertEquals(0, map.indexOf(b1));
+
+        assertEquals(1, map.remove(a1, -1));
+        assertEquals(6, map.indexOf(a2));
+        assertEquals(7, map.indexOf(b1));
+        assertEquals(2, map.get(a2, -1));
+        assertEquals(3, map.get(b1, -1));
+        assertEquals(-1, map.get(a1, -1));
+        assertEquals(-1, map.remove(a1, -1));
+    }
+
+    @Test
+    void removingFromTheMiddleOfAClusterLeavesTheRestReachable() {
+        UuidMap<String> map = new UuidMap<>();
+        long constant = constantForSlot(5);
+        List<UUID> keys = new ArrayList<>();
+        for (int n = 0; n < 4; n++) {
+            UUID key = collidingKey(constant, n);
+            keys.add(key);
+            map.put(key, "v" + n);
+        }
+
+        assertEquals("v1", map.remove(keys.get(1)));
+        assertNull(map.get(keys.get(1)));
+        assertEquals("v0", map.get(keys.get(0)));
+        assertEquals("v2", map.get(keys.get(2)));
+        assertEquals("v3", map.get(keys.get(3)));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void insertingAnExistingKeyDoesNotResize() {
+        UuidSet set = new UuidSet();
+        List<UUID> keys = new ArrayList<>();
+        for (int n = 0; n < 4; n++) {
+            UUID key = new UUID(n, 31L * n + 7);
+            keys.add(key);
+            assertTrue(set.add(key));
+        }
+        assertEquals(8, set.capacity());
+
+        UUID existing = keys.get(0);
+        int slot = set.indexOf(existing);
+        assertEquals(slot, set.insert(existing.getMostSignificantBits(), existing.getLeastSignificantBits()));
+        assertFalse(set.add(existing));
+        assertEquals(8, set.capacity());
+        assertEquals(4, set.size());
+
+        assertTrue(set.add(new UUID(99, 99)));
+        assertEquals(16, set.capacity());
+    }
+
+    @Test
+    void putOverwritesInPlace() {
+        UuidIntMap map = new UuidIntMap();
+        UUID key = UUID.randomUUID();
+        map.put(key, 1);
+        map.put(key, 2);
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(key, -1));
+    }
+
+    @Test
+    void matchesHashMapThroughResizesAndRemovals() {
+        Random random = new Random(42L);
+        UuidIntMap map = new UuidIntMap();
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            UUID key = new UUID(random.nextLong(), random.nextLong());
+            keys.add(key);
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertEquals(expected.remove(keys.get(i)), map.remove(keys.get(i), -1));
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (UUID key : keys) {
+            assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+        }
+    }
+
+    @Test
+    void clearEmptiesTheTable() {
+        UuidSet set = new UuidSet();
+        UUID key = UUID.randomUUID();
+        set.add(key);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(key));
+        assertTrue(set.add(key));
+    }
+
+    @Test
+    void longArrayRoundTrips() {
+        UuidSet set = new UuidSet();
+        for (int n = 0; n < 10; n++) set.add(new UUID(n, -n));
+
+        UuidSet copy = new UuidSet();
+        copy.addAll(set.toLongArray());
+        assertEquals(set.size(), copy.size());
+        set.forEachKey(key -> assertTrue(copy.contains(key)));
+    }
+}
@@ -7,6 +7,7 @@ import com.necro.raid.dens.common.commands.RaidAdminCommands;
 import com.necro.raid.dens.common.commands.RaidDenCommands;
 import com.necro.raid.dens.common.commands.RaidSpawnCommands;
 import com.necro.raid.dens.common.compat.ModCompat;
+import com.necro.raid.dens.common.dimensions.DimensionHelper;
 import com.necro.raid.dens.common.network.*;
 import com.necro.raid.dens.common.network.packets.*;
 import com.necro.raid.dens.common.raids.RaidBoss;
@@ -55,6 +56,7 @@ public class CobblemonRaidDensFabric implements ModInitializer {
         FabricBlocks.registerModBlocks();
         FabricItems.registerItems();
         FabricDimensions.registerChunkGenerator();
+        DimensionHelper.RESTORE_DIMENSION = FabricDimensions::restoreRaidDimension;
         FabricComponents.registerDataComponents();
         FabricPredicates.registerPredicates();
         FabricFeatures.registerFeatures();
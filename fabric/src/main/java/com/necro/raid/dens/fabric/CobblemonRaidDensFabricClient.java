@@ -11,6 +11,7 @@ import com.necro.raid.dens.fabric.network.NetworkMessages;
 import com.necro.raid.dens.fabric.blocks.FabricBlocks;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderers;
 
@@ -27,6 +28,7 @@ public class CobblemonRaidDensFabricClient implements ClientModInitializer {
         BlockEntityRenderers.register(FabricBlocks.RAID_HOME_BLOCK_ENTITY, RaidHomeRenderer::new);
 
         ClientTickEvents.END_CLIENT_TICK.register(ModEvents::clientTick);
+        ClientPlayConnectionEvents.DISCONNECT.register(ModEvents::onClientDisconnect);
         HudRenderCallback.EVENT.register(new FabricHud());
     }
 }
@@ -35,4 +35,12 @@ public class FabricDimensions {
         ServerWorldEvents.LOAD.invoker().onWorldLoad(server, level);
         return level;
     }
+
+    public static ServerLevel restoreRaidDimension(MinecraftServer server, ResourceKey<Level> levelKey) {
+        ServerLevel level = ModDimensions.createRaidDimension(server, levelKey);
+        DimensionHelper.SYNC_DIMENSIONS.accept(server, levelKey, true);
+
+        ServerWorldEvents.LOAD.invoker().onWorldLoad(server, level);
+        return level;
+    }
 }
@@ -5,10 +5,14 @@ import com.necro.raid.dens.common.client.gui.RaidDenGuiManager;
 import com.necro.raid.dens.common.dimensions.DimensionHelper;
 import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
 import com.necro.raid.dens.common.raids.RaidHelper;
+import com.necro.raid.dens.common.raids.RewardLedger;
+import com.necro.raid.dens.common.util.RaidBossInterner;
 import com.necro.raid.dens.common.util.RaidBucketRegistry;
 import com.necro.raid.dens.common.util.RaidRegistry;
+import com.necro.raid.dens.common.util.RaidScheduler;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.network.ServerGamePacketListenerImpl;
@@ -20,7 +24,7 @@ public class ModEvents {
         if (RaidHelper.isAlreadyHosting(player) || RaidHelper.isAlreadyParticipating(player) || RaidHelper.JOIN_QUEUE.containsKey(player)) {
             RaidDenNetworkMessages.JOIN_RAID.accept(player, true);
         }
-        if (RaidHelper.REWARD_QUEUE.containsKey(player.getUUID())) RaidHelper.REWARD_QUEUE.get(player.getUUID()).sendRewardMessage();
+        RewardLedger.onPlayerJoin(player);
     }
 
     public static void onPlayerDisconnect(ServerGamePacketListenerImpl listener, MinecraftServer server) {
@@ -29,7 +33,11 @@ public class ModEvents {
     }
 
     public static void onServerStopping(MinecraftServer server) {
+        RewardLedger.flushDeliveries();
         DimensionHelper.removeDelayed(server);
+        RaidScheduler.clear();
+        DimensionHelper.clear();
+        RaidBossInterner.clear();
     }
 
     public static void initRaidHelper(MinecraftServer server) {
@@ -40,12 +48,8 @@ public class ModEvents {
         RaidHelper.onServerClose();
     }
 
-    public static void serverTick(MinecraftServer server) {
-        RaidHelper.serverTick();
-    }
-
     public static void commonTick(MinecraftServer server) {
-        RaidHelper.commonTick();
+        RaidHelper.commonTick(server);
         DimensionHelper.removePending(server);
     }
 
@@ -54,6 +58,10 @@ public class ModEvents {
         RaidDenGuiManager.tick();
     }
 
+    public static void onClientDisconnect(ClientPacketListener listener, Minecraft client) {
+        RaidBossInterner.clear();
+    }
+
     public static void initRaidBosses(MinecraftServer server) {
         RaidRegistry.initRaidBosses(server);
         RaidBucketRegistry.init(server);
@@ -9,11 +9,14 @@ import com.necro.raid.dens.common.network.packets.*;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.Collection;
+
 public class NetworkMessages {
     public static void registerPayload() {
         PayloadTypeRegistry.playS2C().register(SyncRaidDimensionsPacket.PACKET_TYPE, SyncRaidDimensionsPacket.CODEC);
@@ -48,8 +51,7 @@ public class NetworkMessages {
     }
 
     public static void init() {
-        RaidDenNetworkMessages.SYNC_HEALTH = (player, healthRatio) ->
-            NetworkMessages.sendPacketToPlayer(player, new SyncHealthPacket(healthRatio));
+        RaidDenNetworkMessages.SYNC_HEALTH = NetworkMessages::sendPacketToPlayer;
         RaidDenNetworkMessages.JOIN_RAID = (player, isJoining) ->
             NetworkMessages.sendPacketToPlayer(player, new JoinRaidPacket(isJoining));
         RaidDenNetworkMessages.REQUEST_PACKET = (player, name) ->
@@ -60,8 +62,8 @@ public class NetworkMessages {
             NetworkMessages.sendPacketToLevel(level, new ResizePacket(entity.getId(), scale));
         RaidDenNetworkMessages.RAID_ASPECT = (player, entity) ->
             NetworkMessages.sendPacketToPlayer(player, new RaidAspectPacket(entity.getId()));
-        RaidDenNetworkMessages.RAID_LOG = (player, pokemon, move) ->
-            NetworkMessages.sendPacketToPlayer(player, new RaidLogPacket(pokemon, move));
+        RaidDenNetworkMessages.RAID_LOG = NetworkMessages::sendPacketToPlayer;
+        RaidDenNetworkMessages.MULTICAST = NetworkMessages::sendPacketToPlayers;
 
         RaidDenNetworkMessages.RAID_CHALLENGE = (pokemonEntity, pokemon) ->
             NetworkMessages.sendPacketToServer(new RaidChallengePacket(pokemonEntity.getId(), pokemon.getUuid(), BattleFormat.Companion.getGEN_9_SINGLES()));
@@ -91,6 +93,13 @@ public class NetworkMessages {
         ServerPlayNetworking.send(player, packet);
     }
 
+    public static void sendPacketToPlayers(Collection<ServerPlayer> players, CustomPacketPayload packet) {
+        Packet<?> vanillaPacket = ServerPlayNetworking.createS2CPacket(packet);
+        for (ServerPlayer player : players) {
+            if (ServerPlayNetworking.canSend(player, packet.type())) player.connection.send(vanillaPacket);
+        }
+    }
+
     private static void handle(ClientPacket packet, ClientPlayNetworking.Context context) {
         packet.handleClient();
     }
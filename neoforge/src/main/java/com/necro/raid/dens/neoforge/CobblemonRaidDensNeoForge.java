@@ -3,6 +3,7 @@ package com.necro.raid.dens.neoforge;
 import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.client.ClientRaidBoss;
 import com.necro.raid.dens.common.compat.ModCompat;
+import com.necro.raid.dens.common.dimensions.DimensionHelper;
 import com.necro.raid.dens.common.network.*;
 import com.necro.raid.dens.common.network.packets.*;
 import com.necro.raid.dens.common.raids.RaidBoss;
@@ -16,6 +17,7 @@ import com.necro.raid.dens.neoforge.blocks.NeoForgeBlocks;
 import com.necro.raid.dens.neoforge.compat.distanthorizons.NeoForgeDistantHorizonsCompat;
 import com.necro.raid.dens.neoforge.components.NeoForgeComponents;
 import com.necro.raid.dens.neoforge.dimensions.NeoForgeChunkGenerator;
+import com.necro.raid.dens.neoforge.dimensions.NeoForgeDimensions;
 import com.necro.raid.dens.neoforge.events.CommandsRegistrationEvent;
 import com.necro.raid.dens.neoforge.loot.NeoForgeLootFunctions;
 import com.necro.raid.dens.neoforge.network.NetworkMessages;
@@ -51,6 +53,7 @@ public class CobblemonRaidDensNeoForge {
         NeoForgeComponents.registerDataComponents();
         NeoForgeComponents.DATA_COMPONENT_TYPES.register(modBus);
         NeoForgeChunkGenerator.CHUNK_GENERATORS.register(modBus);
+        DimensionHelper.RESTORE_DIMENSION = NeoForgeDimensions::restoreRaidDimension;
         NeoForgeFeatures.registerFeatures();
         NeoForgeFeatures.FEATURES.register(modBus);
         NeoForgeLootFunctions.registerLootFunctions();
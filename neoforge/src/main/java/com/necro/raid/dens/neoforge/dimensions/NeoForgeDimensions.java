@@ -24,4 +24,14 @@ public class NeoForgeDimensions {
         NeoForge.EVENT_BUS.post(new LevelEvent.Load(level));
         return level;
     }
+
+    @SuppressWarnings("deprecation")
+    public static ServerLevel restoreRaidDimension(MinecraftServer server, ResourceKey<Level> levelKey) {
+        ServerLevel level = ModDimensions.createRaidDimension(server, levelKey);
+        DimensionHelper.SYNC_DIMENSIONS.accept(server, levelKey, true);
+
+        server.markWorldsDirty();
+        NeoForge.EVENT_BUS.post(new LevelEvent.Load(level));
+        return level;
+    }
 }
@@ -4,9 +4,12 @@ import com.necro.raid.dens.common.CobblemonRaidDens;
 import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
 import com.necro.raid.dens.common.raids.RaidExitHelper;
 import com.necro.raid.dens.common.raids.RaidHelper;
+import com.necro.raid.dens.common.raids.RewardLedger;
 import com.necro.raid.dens.common.dimensions.DimensionHelper;
+import com.necro.raid.dens.common.util.RaidBossInterner;
 import com.necro.raid.dens.common.util.RaidBucketRegistry;
 import com.necro.raid.dens.common.util.RaidRegistry;
+import com.necro.raid.dens.common.util.RaidScheduler;
 import com.necro.raid.dens.common.util.RaidUtils;
 import com.necro.raid.dens.neoforge.events.reloader.*;
 import net.minecraft.server.MinecraftServer;
@@ -27,7 +30,7 @@ import net.neoforged.neoforge.event.tick.ServerTickEvent;
 public class ModEvents {
     @SubscribeEvent
     public static void commonTick(ServerTickEvent.Post event) {
-        RaidHelper.commonTick();
+        RaidHelper.commonTick(event.getServer());
         DimensionHelper.removePending(event.getServer());
     }
 
@@ -37,7 +40,7 @@ public class ModEvents {
         if (RaidHelper.isAlreadyHosting(player) || RaidHelper.isAlreadyParticipating(player) || RaidHelper.JOIN_QUEUE.containsKey(player)) {
             RaidDenNetworkMessages.JOIN_RAID.accept(player, true);
         }
-        if (RaidHelper.REWARD_QUEUE.containsKey(player.getUUID())) RaidHelper.REWARD_QUEUE.get(player.getUUID()).sendRewardMessage();
+        RewardLedger.onPlayerJoin(player);
     }
 
     @SubscribeEvent
@@ -56,7 +59,11 @@ public class ModEvents {
 
     @SubscribeEvent
     public static void onServerStopping(ServerStoppingEvent event) {
+        RewardLedger.flushDeliveries();
         DimensionHelper.removeDelayed(event.getServer());
+        RaidScheduler.clear();
+        DimensionHelper.clear();
+        RaidBossInterner.clear();
     }
 
     @SubscribeEvent
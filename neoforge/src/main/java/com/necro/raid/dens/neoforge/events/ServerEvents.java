@@ -6,7 +6,6 @@ import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
-import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 @EventBusSubscriber(modid = CobblemonRaidDens.MOD_ID, value = Dist.DEDICATED_SERVER)
 public class ServerEvents {
@@ -14,9 +13,4 @@ public class ServerEvents {
     public static void onServerClose(ServerStoppingEvent event) {
         RaidHelper.onServerClose();
     }
-
-    @SubscribeEvent
-    public static void serverTick(ServerTickEvent.Post event) {
-        RaidHelper.serverTick();
-    }
 }
@@ -7,6 +7,8 @@ import com.necro.raid.dens.common.network.ClientPacket;
 import com.necro.raid.dens.common.network.RaidDenNetworkMessages;
 import com.necro.raid.dens.common.network.ServerPacket;
 import com.necro.raid.dens.common.network.packets.*;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -17,6 +19,8 @@ import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 import net.neoforged.neoforge.network.registration.PayloadRegistrar;
 
+import java.util.Collection;
+
 @EventBusSubscriber(modid = CobblemonRaidDens.MOD_ID)
 public class NetworkMessages {
     @SubscribeEvent
@@ -39,8 +43,7 @@ public class NetworkMessages {
     }
 
     public static void init() {
-        RaidDenNetworkMessages.SYNC_HEALTH = (player, healthRatio) ->
-            NetworkMessages.sendPacketToPlayer(player, new SyncHealthPacket(healthRatio));
+        RaidDenNetworkMessages.SYNC_HEALTH = NetworkMessages::sendPacketToPlayer;
         RaidDenNetworkMessages.JOIN_RAID = (player, isJoining) ->
             NetworkMessages.sendPacketToPlayer(player, new JoinRaidPacket(isJoining));
         RaidDenNetworkMessages.REQUEST_PACKET = (player, name) ->
@@ -51,8 +54,8 @@ public class NetworkMessages {
             NetworkMessages.sendPacketToLevel(level, new ResizePacket(entity.getId(), scale));
         RaidDenNetworkMessages.RAID_ASPECT = (player, entity) ->
             NetworkMessages.sendPacketToPlayer(player, new RaidAspectPacket(entity.getId()));
-        RaidDenNetworkMessages.RAID_LOG = (player, pokemon, move) ->
-            NetworkMessages.sendPacketToPlayer(player, new RaidLogPacket(pokemon, move));
+        RaidDenNetworkMessages.RAID_LOG = NetworkMessages::sendPacketToPlayer;
+        RaidDenNetworkMessages.MULTICAST = NetworkMessages::sendPacketToPlayers;
 
         RaidDenNetworkMessages.RAID_CHALLENGE = (pokemonEntity, pokemon) ->
             NetworkMessages.sendPacketToServer(new RaidChallengePacket(pokemonEntity.getId(), pokemon.getUuid(), BattleFormat.Companion.getGEN_9_SINGLES()));
@@ -82,6 +85,13 @@ public class NetworkMessages {
         PacketDistributor.sendToPlayer(player, packet);
     }
 
+    public static void sendPacketToPlayers(Collection<ServerPlayer> players, CustomPacketPayload packet) {
+        Packet<?> vanillaPacket = new ClientboundCustomPayloadPacket(packet);
+        for (ServerPlayer player : players) {
+            if (player.connection.hasChannel(packet)) player.connection.send(vanillaPacket);
+        }
+    }
+
     private static void handle(ClientPacket packet, IPayloadContext context) {
         context.enqueueWork(packet::handleClient);
     }